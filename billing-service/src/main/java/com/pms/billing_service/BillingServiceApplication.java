@@ -1,9 +1,12 @@
 package com.pms.billing_service;
 
+import com.pms.billing_service.config.BillingServiceRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(BillingServiceRuntimeHints.class)
 public class BillingServiceApplication {
 
 	public static void main(String[] args) {
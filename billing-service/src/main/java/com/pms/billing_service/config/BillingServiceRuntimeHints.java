@@ -0,0 +1,36 @@
+package com.pms.billing_service.config;
+
+import billing.BillingRequest;
+import billing.BillingResponse;
+import billing.BillingServiceGrpc;
+import billing.BillingServiceOuterClass;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image: protobuf resolves field accessors on
+ * generated messages and builders reflectively.
+ */
+public class BillingServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> PROTOBUF_TYPES = List.of(
+            BillingServiceOuterClass.class,
+            BillingServiceGrpc.class,
+            BillingRequest.class,
+            BillingRequest.Builder.class,
+            BillingResponse.class,
+            BillingResponse.Builder.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        PROTOBUF_TYPES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS));
+    }
+}
@@ -0,0 +1,36 @@
+package com.pms.billing_service.config;
+
+import billing.BillingRequest;
+import billing.BillingResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.ReflectionHintsPredicates;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BillingServiceRuntimeHintsTests {
+
+	private final ReflectionHintsPredicates reflection = RuntimeHintsPredicates.reflection();
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	BillingServiceRuntimeHintsTests() {
+		new BillingServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void protobufMessagesAndBuildersAreReflective() throws NoSuchMethodException {
+		for (Class<?> message : List.of(BillingRequest.class, BillingResponse.class)) {
+			assertTrue(reflection.onMethod(message, "getDefaultInstance").invoke().test(hints), message.getName());
+			assertTrue(reflection.onMethod(message.getMethod("newBuilder")).invoke().test(hints), message.getName());
+		}
+
+		// The field accessor table looks these up by name on the message and its builder
+		assertTrue(reflection.onMethod(BillingRequest.class, "getPatientId").invoke().test(hints));
+		assertTrue(reflection.onMethod(BillingResponse.Builder.class.getMethod("setAccountId", String.class)).invoke().test(hints));
+		assertTrue(reflection.onField(BillingRequest.class, "patientId_").test(hints));
+	}
+}
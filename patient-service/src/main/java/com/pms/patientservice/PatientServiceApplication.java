@@ -1,11 +1,16 @@
 package com.pms.patientservice;
 
+import com.pms.patientservice.config.PatientServiceRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ImportRuntimeHints(PatientServiceRuntimeHints.class)
 @EnableJpaAuditing
+@EnableScheduling
 public class PatientServiceApplication {
 
 	public static void main(String[] args) {
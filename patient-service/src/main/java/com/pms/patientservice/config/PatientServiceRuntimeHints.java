@@ -0,0 +1,74 @@
+package com.pms.patientservice.config;
+
+import billing.BillingRequest;
+import billing.BillingResponse;
+import billing.BillingServiceGrpc;
+import billing.BillingServiceOuterClass;
+import com.pms.patientservice.dto.CursorPage;
+import com.pms.patientservice.dto.ImportJobResponse;
+import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.dto.PatientQuery;
+import com.pms.patientservice.model.Patient;
+import com.pms.patientservice.model.TimeOrderedUuidGenerator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import patient.GetPatientRequest;
+import patient.GetPatientsRequest;
+import patient.GetPatientsResponse;
+import patient.ListPatientsRequest;
+import patient.PatientRecord;
+import patient.PatientServiceGrpc;
+import patient.PatientServiceOuterClass;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image. Protobuf resolves field accessors on generated
+ * messages and builders reflectively, and Hibernate instantiates and populates the entity
+ * through its declared constructor and fields, and creates its id generator reflectively.
+ */
+public class PatientServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> PROTOBUF_TYPES = List.of(
+            BillingServiceOuterClass.class,
+            BillingServiceGrpc.class,
+            BillingRequest.class,
+            BillingRequest.Builder.class,
+            BillingResponse.class,
+            BillingResponse.Builder.class,
+            PatientServiceOuterClass.class,
+            PatientServiceGrpc.class,
+            PatientRecord.class,
+            PatientRecord.Builder.class,
+            GetPatientRequest.class,
+            GetPatientRequest.Builder.class,
+            GetPatientsRequest.class,
+            GetPatientsRequest.Builder.class,
+            GetPatientsResponse.class,
+            GetPatientsResponse.Builder.class,
+            ListPatientsRequest.class,
+            ListPatientsRequest.Builder.class
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        PROTOBUF_TYPES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS));
+
+        hints.reflection().registerType(Patient.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(TimeOrderedUuidGenerator.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Bound from query parameters / serialized inside GenericResponseDto, so not picked up automatically
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                PatientQuery.class, CursorPage.class, ImportJobResponse.class, PatientCreation.class);
+    }
+}
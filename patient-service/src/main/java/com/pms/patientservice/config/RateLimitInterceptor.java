@@ -0,0 +1,113 @@
+package com.pms.patientservice.config;
+
+import com.pms.patientservice.exception.TooManyRequestsException;
+import com.pms.patientservice.support.TokenBucket;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Token-bucket admission control. Requests over a client's budget, or over the
+ * service-wide budget when one is configured, are rejected with 429 before they reach
+ * the controller or wait on the connection pool.
+ * <p>
+ * Clients are identified only by what the server can trust: the authenticated principal,
+ * otherwise the remote address. {@code X-Forwarded-For} is honoured only when the request
+ * comes from a configured trusted proxy, and then the right-most address that is not
+ * itself a trusted proxy is used.
+ */
+@Component
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final boolean enabled;
+    private final long capacity;
+    private final double refillPerSecond;
+    private final Set<String> trustedProxies;
+    private final TokenBucket globalBucket;
+    private final Map<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(
+            @Value("${patient.rate-limit.enabled:true}") boolean enabled,
+            @Value("${patient.rate-limit.capacity:50}") long capacity,
+            @Value("${patient.rate-limit.refill-per-second:25}") double refillPerSecond,
+            @Value("${patient.rate-limit.max-tracked-clients:10000}") int maxTrackedClients,
+            @Value("${patient.rate-limit.trusted-proxies:}") String[] trustedProxies,
+            @Value("${patient.rate-limit.global-capacity:0}") long globalCapacity,
+            @Value("${patient.rate-limit.global-refill-per-second:0}") double globalRefillPerSecond
+    ) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.trustedProxies = Arrays.stream(trustedProxies)
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.globalBucket = globalCapacity > 0 ? new TokenBucket(globalCapacity, globalRefillPerSecond) : null;
+        // Access-ordered, so the least recently seen client is evicted in O(1) once the map is full
+        this.buckets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxTrackedClients;
+            }
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+        String clientId = clientId(request);
+        TokenBucket bucket = buckets.computeIfAbsent(clientId, id -> new TokenBucket(capacity, refillPerSecond));
+        if (!bucket.tryConsume()) {
+            log.warn("Rate limit exceeded for client {} on {}", clientId, request.getRequestURI());
+            throw new TooManyRequestsException(clientId, bucket.secondsUntilNextToken());
+        }
+        if (globalBucket != null && !globalBucket.tryConsume()) {
+            // Not this client's fault, so it keeps its token
+            bucket.refund();
+            log.warn("Global rate limit exceeded on {}", request.getRequestURI());
+            throw new TooManyRequestsException(clientId, globalBucket.secondsUntilNextToken());
+        }
+        return true;
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        String remoteAddr = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || !trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        // Entries left of the first untrusted hop were written by the client and can be forged
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+}
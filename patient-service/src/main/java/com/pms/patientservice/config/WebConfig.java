@@ -0,0 +1,21 @@
+package com.pms.patientservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // PatientController only: the advanced endpoints and health checks are not admission-controlled
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/v1/patients", "/api/v1/patients/**")
+                .excludePathPatterns("/api/v1/patients/advanced/**", "/api/v1/patients/health");
+    }
+}
@@ -1,14 +1,22 @@
 package com.pms.patientservice.controller;
 
+import com.pms.patientservice.dto.CursorPage;
 import com.pms.patientservice.dto.GenericResponseDto;
+import com.pms.patientservice.dto.ImportJobResponse;
 import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.dto.PatientQuery;
+import com.pms.patientservice.dto.PatientResponse;
+import com.pms.patientservice.importing.PatientImportService;
 import com.pms.patientservice.service.PatientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -18,6 +26,7 @@ import java.util.List;
 public class PatientAdvancedController {
 
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
 
     /**
      * Create multiple patients in bulk
@@ -31,14 +40,53 @@ public class PatientAdvancedController {
     }
 
     /**
-     * Get patients with custom sorting
+     * Get patients with custom sorting, one keyset page at a time.
+     * Only indexed fields (name, createdAt, dateOfBirth, registeredDate) are accepted;
+     * pass the returned nextCursor back to continue.
      */
     @GetMapping("/sorted")
-    public ResponseEntity<GenericResponseDto<List<com.pms.patientservice.dto.PatientResponse>>> getPatientsSorted(
+    public ResponseEntity<GenericResponseDto<CursorPage<PatientResponse>>> getPatientsSorted(
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "ASC") String direction) {
-        log.info("GET /api/v1/patients/advanced/sorted - Fetching patients sorted by {} in {} direction", sortBy, direction);
-        List<com.pms.patientservice.dto.PatientResponse> patients = patientService.getAllPatientsSorted(sortBy, direction);
+            @RequestParam(defaultValue = "ASC") String direction,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /api/v1/patients/advanced/sorted - Fetching {} patients sorted by {} in {} direction", limit, sortBy, direction);
+        CursorPage<PatientResponse> patients = patientService.getAllPatientsSorted(sortBy, direction, limit, cursor);
         return ResponseEntity.ok(GenericResponseDto.success(patients));
     }
+
+    /**
+     * Query patients by any combination of name prefix, date of birth range,
+     * registration range and email domain, with the same sorting and cursor
+     * semantics as /sorted. All filters are compiled into one SQL query.
+     */
+    @GetMapping("/query")
+    public ResponseEntity<GenericResponseDto<CursorPage<PatientResponse>>> queryPatients(PatientQuery query) {
+        log.info("GET /api/v1/patients/advanced/query - Querying patients with {}", query);
+        CursorPage<PatientResponse> patients = patientService.queryPatients(query);
+        return ResponseEntity.ok(GenericResponseDto.success(patients));
+    }
+
+    /**
+     * Start a bulk import from a CSV (with header) or NDJSON request body.
+     * Runs in the background; poll the returned job for progress.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<GenericResponseDto<ImportJobResponse>> importPatients(
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        log.info("POST /api/v1/patients/advanced/import - Starting {} patient import", format);
+        ImportJobResponse job = patientImportService.startImport(body, format);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(GenericResponseDto.success(job));
+    }
+
+    /**
+     * Get progress of a bulk import
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<GenericResponseDto<ImportJobResponse>> getImport(@PathVariable String jobId) {
+        log.info("GET /api/v1/patients/advanced/import/{} - Fetching import progress", jobId);
+        ImportJobResponse job = patientImportService.getImport(jobId);
+        return ResponseEntity.ok(GenericResponseDto.success(job));
+    }
 }
@@ -9,9 +9,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -54,9 +51,7 @@ public class PatientController {
         
         log.info("GET /api/v1/patients/paginated - Fetching patients with pagination (page={}, size={})", page, size);
         
-        Sort sort = Sort.by(Sort.Direction.fromString(direction.toUpperCase()), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<PatientResponse> patients = patientService.getAllPatientsWithPagination(pageable);
+        Page<PatientResponse> patients = patientService.getAllPatientsWithPagination(page, size, sortBy, direction);
         
         return ResponseEntity.ok(GenericResponseDto.success(patients));
     }
@@ -133,6 +128,20 @@ public class PatientController {
         return ResponseEntity.ok(GenericResponseDto.success(patients));
     }
 
+    /**
+     * Get patients by registration date range
+     */
+    @GetMapping("/by-registered-date")
+    @Operation(summary = "Get Patients by Registration Date Range")
+    public ResponseEntity<GenericResponseDto<List<PatientResponse>>> getPatientsByRegisteredDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        log.info("GET /api/v1/patients/by-registered-date - Fetching patients registered between {} and {}", startDate, endDate);
+        List<PatientResponse> patients = patientService.getPatientsByRegisteredDateRange(startDate, endDate);
+        return ResponseEntity.ok(GenericResponseDto.success(patients));
+    }
+
     /**
      * Check if patient exists
      */
@@ -160,9 +169,12 @@ public class PatientController {
      */
     @GetMapping("/statistics")
     @Operation(summary = "Get Patient Statistics")
-    public ResponseEntity<GenericResponseDto<Object>> getPatientStatistics() {
+    public ResponseEntity<GenericResponseDto<Object>> getPatientStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean estimate) {
         log.info("GET /api/v1/patients/statistics - Fetching patient statistics");
-        Object statistics = patientService.getPatientStatistics();
+        Object statistics = patientService.getPatientStatistics(startDate, endDate, estimate);
         return ResponseEntity.ok(GenericResponseDto.success(statistics));
     }
 
@@ -0,0 +1,25 @@
+package com.pms.patientservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ImportJobResponse {
+
+    private UUID jobId;
+    private String format;
+    private String status;
+    private long rowsRead;
+    private long rowsValid;
+    private long rowsRejected;
+    private long rowsInserted;
+    private long duplicates;
+    private long rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<String> rejections;
+    private String error;
+}
@@ -13,17 +13,24 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class PatientCreation {
 
+    /** Postgres rejects NUL in text, which would fail a whole import COPY. */
+    private static final String NO_NUL = "[^\\x00]*";
+
     @JsonProperty("patient_name")
     @NotBlank(message = "Name is required")
-    @Size(min = 2, message = "Name must be more than 2 characters")
+    @Size(min = 2, max = 255, message = "Name must be between 2 and 255 characters")
+    @Pattern(regexp = NO_NUL, message = "Name must not contain NUL characters")
     private String name;
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email should be valid")
-    @Size(min = 2, message = "Email must be more than 2 characters")
+    @Size(min = 2, max = 255, message = "Email must be between 2 and 255 characters")
+    @Pattern(regexp = NO_NUL, message = "Email must not contain NUL characters")
     private String email;
 
     @NotBlank(message = "Address is required")
+    @Size(max = 255, message = "Address must be at most 255 characters")
+    @Pattern(regexp = NO_NUL, message = "Address must not contain NUL characters")
     private String address;
 
     @JsonProperty("date_of_birth")
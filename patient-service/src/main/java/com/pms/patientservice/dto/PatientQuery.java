@@ -0,0 +1,38 @@
+package com.pms.patientservice.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the composable patient query. Every criterion that is set is
+ * AND-ed into a single SQL statement; unset criteria are left out of it entirely.
+ */
+@Data
+public class PatientQuery {
+
+    private String namePrefix;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dobTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate registeredFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate registeredTo;
+
+    private String emailDomain;
+
+    private String sortBy = "name";
+
+    private String direction = "ASC";
+
+    private int limit = 20;
+
+    private String cursor;
+}
@@ -17,4 +17,6 @@ public class PatientResponse {
 
     private LocalDate dateOfBirth;
 
+    private LocalDate registeredDate;
+
 }
@@ -2,6 +2,7 @@ package com.pms.patientservice.exception;
 
 import com.pms.patientservice.dto.GenericResponseDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -50,6 +51,23 @@ public class GlobalExceptionHandler {
                 .body(GenericResponseDto.failure(ex.getMessage()));
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<GenericResponseDto<String>> handleBadRequestException(BadRequestException ex) {
+        log.error("Bad request exception: {}", ex.getMessage());
+        return ResponseEntity
+                .status(ex.getHttpStatus())
+                .body(GenericResponseDto.failure(ex.getMessage()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<GenericResponseDto<String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        log.warn("Too many requests exception: {}", ex.getMessage());
+        return ResponseEntity
+                .status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(GenericResponseDto.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<GenericResponseDto<String>> handleGenericException(Exception ex) {
         log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
@@ -0,0 +1,7 @@
+package com.pms.patientservice.exception;
+
+public class ImportJobNotFoundException extends ResourceNotFoundException {
+    public ImportJobNotFoundException(String jobId) {
+        super("Import job not found: " + jobId);
+    }
+}
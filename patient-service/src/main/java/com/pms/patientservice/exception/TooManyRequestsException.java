@@ -0,0 +1,14 @@
+package com.pms.patientservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class TooManyRequestsException extends ApiException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String clientId, long retryAfterSeconds) {
+        super("Too many requests from client: " + clientId, HttpStatus.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
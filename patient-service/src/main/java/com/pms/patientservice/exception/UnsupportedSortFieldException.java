@@ -0,0 +1,7 @@
+package com.pms.patientservice.exception;
+
+public class UnsupportedSortFieldException extends BadRequestException {
+    public UnsupportedSortFieldException(String field) {
+        super("Sorting is not supported on field: " + field);
+    }
+}
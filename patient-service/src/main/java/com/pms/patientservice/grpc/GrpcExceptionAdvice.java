@@ -0,0 +1,33 @@
+package com.pms.patientservice.grpc;
+
+import com.pms.patientservice.exception.ApiException;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.advice.GrpcAdvice;
+import net.devh.boot.grpc.server.advice.GrpcExceptionHandler;
+
+/**
+ * gRPC counterpart of the REST {@code GlobalExceptionHandler}: maps the
+ * service layer's {@link ApiException}s onto gRPC status codes.
+ */
+@GrpcAdvice
+@Slf4j
+public class GrpcExceptionAdvice {
+
+    @GrpcExceptionHandler(ApiException.class)
+    public Status handleApiException(ApiException ex) {
+        log.error("API Exception in gRPC call: {}", ex.getMessage());
+        return toStatus(ex);
+    }
+
+    static Status toStatus(ApiException ex) {
+        Status status = switch (ex.getHttpStatus()) {
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT;
+            case CONFLICT -> Status.ALREADY_EXISTS;
+            case TOO_MANY_REQUESTS -> Status.RESOURCE_EXHAUSTED;
+            default -> Status.INTERNAL;
+        };
+        return status.withDescription(ex.getMessage());
+    }
+}
@@ -0,0 +1,132 @@
+package com.pms.patientservice.grpc;
+
+import com.pms.patientservice.dto.CursorPage;
+import com.pms.patientservice.dto.PatientResponse;
+import com.pms.patientservice.exception.ApiException;
+import com.pms.patientservice.mapper.PatientMapper;
+import com.pms.patientservice.service.PatientService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import patient.GetPatientRequest;
+import patient.GetPatientsRequest;
+import patient.GetPatientsResponse;
+import patient.ListPatientsRequest;
+import patient.PatientRecord;
+import patient.PatientServiceGrpc.PatientServiceImplBase;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only gRPC API over patients for other internal services, sharing the
+ * service layer (and its request coalescing) with the REST controllers.
+ */
+@GrpcService
+@Slf4j
+@RequiredArgsConstructor
+public class PatientGrpcService extends PatientServiceImplBase {
+
+    private static final String DEFAULT_SORT_BY = "name";
+    private static final String DEFAULT_DIRECTION = "ASC";
+
+    private final PatientService patientService;
+
+    @Override
+    public void getPatient(GetPatientRequest request, StreamObserver<PatientRecord> responseObserver) {
+        log.info("getPatient request received for id: {}", request.getId());
+        responseObserver.onNext(PatientMapper.toProto(patientService.getPatientById(request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getPatients(GetPatientsRequest request, StreamObserver<GetPatientsResponse> responseObserver) {
+        log.info("getPatients request received for {} ids", request.getIdsCount());
+        GetPatientsResponse.Builder response = GetPatientsResponse.newBuilder();
+        List<PatientResponse> patients = patientService.getPatientsByIds(request.getIdsList());
+        for (PatientResponse patient : patients) {
+            response.addPatients(PatientMapper.toProto(patient));
+        }
+        // Compared as UUIDs, since any spelling UUID.fromString accepts finds the patient
+        Set<UUID> found = patients.stream()
+                .map(PatientResponse::getId)
+                .collect(Collectors.toSet());
+        request.getIdsList().stream()
+                .filter(id -> !found.contains(PatientService.parseUuid(id)))
+                .distinct()
+                .forEach(response::addMissingIds);
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listPatients(ListPatientsRequest request, StreamObserver<PatientRecord> responseObserver) {
+        String sortBy = request.getSortBy().isEmpty() ? DEFAULT_SORT_BY : request.getSortBy();
+        String direction = request.getDirection().isEmpty() ? DEFAULT_DIRECTION : request.getDirection();
+        log.info("listPatients stream requested sorted by {} in {} direction", sortBy, direction);
+
+        // The first page is read up front so an invalid sort is reported before any record is sent
+        PatientStream stream = new PatientStream((ServerCallStreamObserver<PatientRecord>) responseObserver,
+                sortBy, direction, patientService.getAllPatientsSorted(sortBy, direction, PatientService.MAX_PAGE_SIZE, null));
+        stream.call.setOnCancelHandler(stream::cancel);
+        stream.call.setOnReadyHandler(stream::drain);
+    }
+
+    /**
+     * Walks the keyset pages only as fast as the client reads: records are
+     * written while the transport reports ready and the next page is fetched
+     * once the current one is exhausted, so a slow consumer never makes the
+     * server buffer the whole table.
+     */
+    private final class PatientStream {
+
+        private final ServerCallStreamObserver<PatientRecord> call;
+        private final String sortBy;
+        private final String direction;
+        private Iterator<PatientResponse> page;
+        private String nextCursor;
+        private boolean done;
+
+        private PatientStream(ServerCallStreamObserver<PatientRecord> call, String sortBy, String direction,
+                              CursorPage<PatientResponse> firstPage) {
+            this.call = call;
+            this.sortBy = sortBy;
+            this.direction = direction;
+            accept(firstPage);
+        }
+
+        private synchronized void cancel() {
+            log.info("listPatients stream cancelled by client");
+            done = true;
+        }
+
+        private synchronized void drain() {
+            try {
+                while (!done && call.isReady()) {
+                    if (page.hasNext()) {
+                        call.onNext(PatientMapper.toProto(page.next()));
+                    } else if (nextCursor != null) {
+                        accept(patientService.getAllPatientsSorted(sortBy, direction, PatientService.MAX_PAGE_SIZE, nextCursor));
+                    } else {
+                        done = true;
+                        call.onCompleted();
+                    }
+                }
+            } catch (ApiException e) {
+                done = true;
+                call.onError(GrpcExceptionAdvice.toStatus(e).asRuntimeException());
+            }
+        }
+
+        private void accept(CursorPage<PatientResponse> next) {
+            page = next.getItems().iterator();
+            nextCursor = next.isHasNext() ? next.getNextCursor() : null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.pms.patientservice.importing;
+
+import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Columns are matched by name (same names as the
+ * create-patient JSON), so their order in the file does not matter.
+ * <p>
+ * A record longer than {@link #MAX_RECORD_LENGTH} characters, such as everything after an
+ * unterminated quote, is rejected on its own: reading resumes at the next line break.
+ */
+public class CsvPatientRecordReader implements PatientRecordReader {
+
+    private static final List<String> COLUMNS =
+            List.of("patient_name", "email", "address", "date_of_birth", "registered_date");
+
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final int[] columnIndex = new int[COLUMNS.size()];
+    private long lineNumber = 1;
+
+    public CsvPatientRecordReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    @Override
+    public SourceRecord next() throws IOException {
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = lineNumber;
+            try {
+                fields = readRecord();
+            } catch (RecordTooLongException e) {
+                return new SourceRecord(recordLine, () -> {
+                    throw new IllegalArgumentException("record is longer than " + MAX_RECORD_LENGTH + " characters");
+                });
+            }
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        List<String> values = fields;
+        long line = recordLine;
+        return new SourceRecord(line, () -> toPatientCreation(values, line));
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header;
+        try {
+            header = readRecord();
+        } catch (RecordTooLongException e) {
+            throw new BadRequestException("CSV header is longer than " + MAX_RECORD_LENGTH + " characters");
+        }
+        if (header == null) {
+            throw new BadRequestException("CSV import file is empty");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null) {
+                throw new BadRequestException("CSV header is missing column: " + COLUMNS.get(i));
+            }
+            columnIndex[i] = position;
+        }
+    }
+
+    private PatientCreation toPatientCreation(List<String> fields, long line) {
+        if (fields.size() < COLUMNS.size()) {
+            throw new IllegalArgumentException("expected " + COLUMNS.size() + " columns but found " + fields.size());
+        }
+        return new PatientCreation(
+                field(fields, 0),
+                field(fields, 1),
+                field(fields, 2),
+                date(field(fields, 3)),
+                date(field(fields, 4)));
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = columnIndex[column];
+        return position < fields.size() ? fields.get(position).trim() : null;
+    }
+
+    private static LocalDate date(String value) {
+        return value == null || value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean readAny = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            readAny = true;
+            if (++length > MAX_RECORD_LENGTH) {
+                skipLine(c);
+                throw new RecordTooLongException();
+            }
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!readAny) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipLine(int c) throws IOException {
+        while (c != -1 && c != '\n') {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+    }
+
+    private static class RecordTooLongException extends IOException {
+    }
+}
@@ -0,0 +1,33 @@
+package com.pms.patientservice.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.patientservice.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public enum ImportFormat {
+    CSV {
+        @Override
+        public PatientRecordReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+            return new CsvPatientRecordReader(reader);
+        }
+    },
+    NDJSON {
+        @Override
+        public PatientRecordReader open(BufferedReader reader, ObjectMapper objectMapper) {
+            return new NdjsonPatientRecordReader(reader, objectMapper);
+        }
+    };
+
+    public abstract PatientRecordReader open(BufferedReader reader, ObjectMapper objectMapper) throws IOException;
+
+    public static ImportFormat from(String format) {
+        for (ImportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new BadRequestException("Unsupported import format: " + format);
+    }
+}
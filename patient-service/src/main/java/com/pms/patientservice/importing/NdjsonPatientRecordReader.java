@@ -0,0 +1,35 @@
+package com.pms.patientservice.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.patientservice.dto.PatientCreation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line, using the same property names as the create-patient API.
+ */
+public class NdjsonPatientRecordReader implements PatientRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    public NdjsonPatientRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public SourceRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                String json = line;
+                return new SourceRecord(lineNumber, () -> objectMapper.readValue(json, PatientCreation.class));
+            }
+        }
+        return null;
+    }
+}
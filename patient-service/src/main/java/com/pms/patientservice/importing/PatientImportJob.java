@@ -0,0 +1,119 @@
+package com.pms.patientservice.importing;
+
+import com.pms.patientservice.dto.ImportJobResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, updated by the import thread and read by status requests.
+ */
+public class PatientImportJob {
+
+    public enum Status { QUEUED, STAGING, MERGING, COMPLETED, FAILED }
+
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    @Getter
+    private final UUID id;
+    private final ImportFormat format;
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsValid = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<String> rejections = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile long rowsInserted;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public PatientImportJob(UUID id, ImportFormat format) {
+        this.id = id;
+        this.format = format;
+    }
+
+    void started() {
+        startNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = Status.STAGING;
+    }
+
+    void recordRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void chunkValidated(long valid, long rejected, List<String> messages) {
+        rowsValid.addAndGet(valid);
+        rowsRejected.addAndGet(rejected);
+        synchronized (rejections) {
+            for (String message : messages) {
+                if (rejections.size() >= MAX_REPORTED_REJECTIONS) {
+                    break;
+                }
+                rejections.add(message);
+            }
+        }
+    }
+
+    void merging() {
+        status = Status.MERGING;
+    }
+
+    void completed(long inserted) {
+        rowsInserted = inserted;
+        finish(Status.COMPLETED);
+    }
+
+    void failed(String message) {
+        error = message;
+        finish(Status.FAILED);
+    }
+
+    /**
+     * Whether the job completed or failed before {@code nanoTime}, a {@link System#nanoTime()} value.
+     */
+    boolean finishedBefore(long nanoTime) {
+        return (status == Status.COMPLETED || status == Status.FAILED) && endNanos - nanoTime < 0;
+    }
+
+    private void finish(Status finalStatus) {
+        endNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public ImportJobResponse toResponse() {
+        ImportJobResponse response = new ImportJobResponse();
+        response.setJobId(id);
+        response.setFormat(format.name());
+        response.setStatus(status.name());
+        response.setRowsRead(rowsRead.get());
+        response.setRowsValid(rowsValid.get());
+        response.setRowsRejected(rowsRejected.get());
+        response.setRowsInserted(rowsInserted);
+        response.setDuplicates(status == Status.COMPLETED ? rowsValid.get() - rowsInserted : 0);
+        response.setRowsPerSecond(rowsPerSecond());
+        response.setStartedAt(startedAt);
+        response.setFinishedAt(finishedAt);
+        synchronized (rejections) {
+            response.setRejections(List.copyOf(rejections));
+        }
+        response.setError(error);
+        return response;
+    }
+
+    private long rowsPerSecond() {
+        if (startNanos == 0) {
+            return 0;
+        }
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        double seconds = (end - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? Math.round(rowsRead.get() / seconds) : 0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.pms.patientservice.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.patientservice.dto.ImportJobResponse;
+import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.exception.ImportJobNotFoundException;
+import com.pms.patientservice.model.TimeOrderedUuidGenerator;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * High-volume patient import. The upload is spooled to disk, then a background job
+ * streams it through parallel validation into a session-local staging table with
+ * {@code COPY}, and finally merges staging into {@code patients} with set-based
+ * statements that skip duplicate emails and queue billing accounts for the new rows.
+ * Memory use is bounded by the chunk size times the number of chunks in flight.
+ * Finished jobs are forgotten after {@code patient.import.job-retention}.
+ */
+@Service
+@Slf4j
+public class PatientImportService {
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE patient_import_staging (
+                line_number     BIGINT       NOT NULL,
+                id              UUID         NOT NULL,
+                name            VARCHAR(255) NOT NULL,
+                email           VARCHAR(255) NOT NULL,
+                address         VARCHAR(255) NOT NULL,
+                date_of_birth   DATE         NOT NULL,
+                registered_date DATE         NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL = """
+            COPY patient_import_staging (line_number, id, name, email, address, date_of_birth, registered_date)
+            FROM STDIN WITH (FORMAT csv)
+            """;
+
+    // First occurrence of an email in the file wins; emails already claimed by a patient are skipped.
+    // Email uniqueness lives in patient_emails because patients is partitioned by registered_date.
+    private static final String CLAIM_EMAILS_SQL = """
+            INSERT INTO patient_emails (email, patient_id, registered_date)
+            SELECT DISTINCT ON (email) email, id, registered_date
+            FROM patient_import_staging
+            ORDER BY email, line_number
+            ON CONFLICT (email) DO NOTHING
+            """;
+
+    private static final String MERGE_SQL = """
+            WITH inserted AS (
+                INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+                SELECT s.id, s.name, s.email, s.address, s.date_of_birth, s.registered_date, now(), now()
+                FROM patient_import_staging s
+                JOIN patient_emails e ON e.patient_id = s.id
+                ORDER BY s.registered_date, s.id
+                RETURNING id, name, email
+            )
+            INSERT INTO billing_account_queue (patient_id, name, email)
+            SELECT id, name, email FROM inserted
+            """;
+
+    private final DataSource dataSource;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration jobRetention;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService validationExecutor;
+    private final Map<UUID, PatientImportJob> jobs = new ConcurrentHashMap<>();
+
+    public PatientImportService(
+            DataSource dataSource,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${patient.import.chunk-size:5000}") int chunkSize,
+            @Value("${patient.import.parallelism:0}") int parallelism,
+            @Value("${patient.import.job-retention:PT1H}") Duration jobRetention
+    ) {
+        this.dataSource = dataSource;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.jobRetention = jobRetention;
+        // Imports run one at a time; each one already saturates the validation pool
+        this.jobExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("patient-import").factory());
+        this.validationExecutor = Executors.newFixedThreadPool(this.parallelism,
+                Thread.ofPlatform().name("patient-import-validate-", 0).daemon().factory());
+    }
+
+    public ImportJobResponse startImport(InputStream body, String format) throws IOException {
+        ImportFormat importFormat = ImportFormat.from(format);
+        Path file = Files.createTempFile("patient-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+        PatientImportJob job = new PatientImportJob(TimeOrderedUuidGenerator.next(), importFormat);
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            jobs.put(job.getId(), job);
+            log.info("Queued patient import {} ({} bytes of {})", job.getId(), Files.size(file), importFormat);
+            jobExecutor.submit(() -> run(job, importFormat, file));
+        } catch (IOException | RuntimeException e) {
+            // The job never ran, so nothing else will clean up after it
+            jobs.remove(job.getId());
+            deleteImportFile(file);
+            throw e;
+        }
+        return job.toResponse();
+    }
+
+    public ImportJobResponse getImport(String jobId) {
+        try {
+            PatientImportJob job = jobs.get(UUID.fromString(jobId));
+            if (job == null) {
+                throw new ImportJobNotFoundException(jobId);
+            }
+            return job.toResponse();
+        } catch (IllegalArgumentException e) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${patient.import.eviction-interval-ms:60000}")
+    public void evictFinishedJobs() {
+        long cutoff = System.nanoTime() - jobRetention.toNanos();
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        validationExecutor.shutdownNow();
+    }
+
+    private void run(PatientImportJob job, ImportFormat format, Path file) {
+        job.started();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_SQL);
+                }
+                stage(job, format.open(reader, objectMapper), connection);
+
+                job.merging();
+                long inserted;
+                try (Statement statement = connection.createStatement()) {
+                    // Temp tables are never auto-analyzed; give the planner real row counts for the merge
+                    statement.execute("ANALYZE patient_import_staging");
+                    statement.executeUpdate(CLAIM_EMAILS_SQL);
+                    inserted = statement.executeUpdate(MERGE_SQL);
+                }
+                connection.commit();
+                job.completed(inserted);
+                log.info("Patient import {} completed: {}", job.getId(), job.toResponse());
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (Exception e) {
+            log.error("Patient import {} failed: {}", job.getId(), e.getMessage(), e);
+            job.failed(e.getMessage());
+        } finally {
+            deleteImportFile(file);
+        }
+    }
+
+    private static void deleteImportFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private void stage(PatientImportJob job, PatientRecordReader reader, Connection connection)
+            throws IOException, SQLException, InterruptedException, ExecutionException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            Deque<Future<ValidatedChunk>> pending = new ArrayDeque<>();
+            List<SourceRecord> chunk = new ArrayList<>(chunkSize);
+            SourceRecord record;
+            while ((record = reader.next()) != null) {
+                job.recordRead();
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    pending.add(submit(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    // Back-pressure: never hold more than two chunks per validation worker
+                    if (pending.size() >= parallelism * 2) {
+                        write(pending.poll().get(), copyIn, job);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(submit(chunk));
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll().get(), copyIn, job);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private Future<ValidatedChunk> submit(List<SourceRecord> chunk) {
+        return validationExecutor.submit(() -> validate(chunk));
+    }
+
+    private static void write(ValidatedChunk chunk, CopyIn copyIn, PatientImportJob job) throws SQLException {
+        if (chunk.copyData().length > 0) {
+            copyIn.writeToCopy(chunk.copyData(), 0, chunk.copyData().length);
+        }
+        job.chunkValidated(chunk.valid(), chunk.rejected(), chunk.rejections());
+    }
+
+    private ValidatedChunk validate(List<SourceRecord> chunk) {
+        StringBuilder copyData = new StringBuilder(chunk.size() * 128);
+        List<String> rejections = new ArrayList<>();
+        long valid = 0;
+        for (SourceRecord record : chunk) {
+            String problem;
+            try {
+                PatientCreation patient = record.parser().parse();
+                Set<ConstraintViolation<PatientCreation>> violations = validator.validate(patient);
+                if (violations.isEmpty()) {
+                    appendCopyRow(copyData, record.lineNumber(), patient);
+                    valid++;
+                    continue;
+                }
+                problem = violations.iterator().next().getMessage();
+            } catch (Exception e) {
+                problem = e.getMessage();
+            }
+            if (rejections.size() < PatientImportJob.MAX_REPORTED_REJECTIONS) {
+                rejections.add("line " + record.lineNumber() + ": " + problem);
+            }
+        }
+        return new ValidatedChunk(copyData.toString().getBytes(StandardCharsets.UTF_8),
+                valid, chunk.size() - valid, rejections);
+    }
+
+    private static void appendCopyRow(StringBuilder out, long lineNumber, PatientCreation patient) {
+        out.append(lineNumber).append(',')
+                .append(TimeOrderedUuidGenerator.next()).append(',');
+        appendQuoted(out, patient.getName()).append(',');
+        appendQuoted(out, patient.getEmail()).append(',');
+        appendQuoted(out, patient.getAddress()).append(',')
+                .append(patient.getDateOfBirth()).append(',')
+                .append(patient.getRegisteredDate()).append('\n');
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder out, String value) {
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private record ValidatedChunk(byte[] copyData, long valid, long rejected, List<String> rejections) {
+    }
+}
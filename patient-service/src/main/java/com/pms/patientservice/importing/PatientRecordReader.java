@@ -0,0 +1,11 @@
+package com.pms.patientservice.importing;
+
+import java.io.IOException;
+
+public interface PatientRecordReader {
+
+    /**
+     * Reads the next record from the file, or returns null at the end of input.
+     */
+    SourceRecord next() throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.pms.patientservice.importing;
+
+import com.pms.patientservice.dto.PatientCreation;
+
+/**
+ * One unparsed record of an import file. Parsing is deferred so it can run on the
+ * validation workers instead of the thread reading the file.
+ */
+public record SourceRecord(long lineNumber, Parser parser) {
+
+    @FunctionalInterface
+    public interface Parser {
+        PatientCreation parse() throws Exception;
+    }
+}
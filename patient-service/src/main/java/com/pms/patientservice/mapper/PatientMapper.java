@@ -3,6 +3,7 @@ package com.pms.patientservice.mapper;
 import com.pms.patientservice.dto.PatientCreation;
 import com.pms.patientservice.dto.PatientResponse;
 import com.pms.patientservice.model.Patient;
+import patient.PatientRecord;
 
 public class PatientMapper {
     public static PatientResponse toDto(Patient patient){
@@ -13,6 +14,7 @@ public class PatientMapper {
         response.setEmail(patient.getEmail());
         response.setAddress(patient.getAddress());
         response.setDateOfBirth(patient.getDateOfBirth());
+        response.setRegisteredDate(patient.getRegisteredDate());
         return response;
     }
     public static Patient toModel(PatientCreation patient) {
@@ -25,4 +27,18 @@ public class PatientMapper {
         model.setRegisteredDate(patient.getRegisteredDate());
         return model;
     }
+    public static PatientRecord toProto(PatientResponse patient) {
+        PatientRecord.Builder record = PatientRecord.newBuilder()
+                .setId(patient.getId().toString())
+                .setName(patient.getName())
+                .setEmail(patient.getEmail())
+                .setAddress(patient.getAddress());
+        if (patient.getDateOfBirth() != null) {
+            record.setDateOfBirth(patient.getDateOfBirth().toString());
+        }
+        if (patient.getRegisteredDate() != null) {
+            record.setRegisteredDate(patient.getRegisteredDate().toString());
+        }
+        return record.build();
+    }
 }
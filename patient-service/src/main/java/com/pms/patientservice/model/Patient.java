@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,14 +22,14 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class Patient {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @NotNull
     private String name;
 
+    // Unique across partitions through patient_emails (see V4 migration)
     @NotNull
-    @Column(unique = true)
     private String email;
 
     @NotNull
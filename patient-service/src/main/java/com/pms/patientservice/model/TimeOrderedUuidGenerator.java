@@ -0,0 +1,37 @@
+package com.pms.patientservice.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp, then a 12-bit
+ * counter for ids created in the same millisecond, then 62 random bits. Ids from one JVM are
+ * strictly increasing, so inserts append to the right-hand edge of the primary-key index
+ * instead of landing on random leaf pages. The result is an ordinary UUID string.
+ */
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** Timestamp in the high bits, sequence counter in the low 12 bits. */
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // A counter overflow carries into the timestamp, which keeps ids monotonic
+        long state = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> now > last ? now : last + 1);
+
+        long mostSigBits = ((state >>> 12) << 16) | 0x7000L | (state & 0xFFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,49 @@
+package com.pms.patientservice.query;
+
+import com.pms.patientservice.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position: the sort value and id of the last row a client has seen.
+ * The sort field and direction are encoded as well so a cursor cannot be replayed
+ * against a different ordering.
+ */
+@Data
+@AllArgsConstructor
+public class PatientCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PatientSortField sortField;
+    private Sort.Direction direction;
+    private UUID lastId;
+    private Comparable<?> lastValue;
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+                sortField.name(), direction.name(), lastId.toString(), lastValue.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PatientCursor decode(String cursor, PatientSortField sortField, Sort.Direction direction) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            if (parts.length != 4
+                    || PatientSortField.valueOf(parts[0]) != sortField
+                    || Sort.Direction.valueOf(parts[1]) != direction) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new PatientCursor(sortField, direction, UUID.fromString(parts[2]), sortField.parse(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.pms.patientservice.query;
+
+import com.pms.patientservice.exception.UnsupportedSortFieldException;
+import com.pms.patientservice.model.Patient;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Fields a client may sort patients by. Every entry is backed by a composite
+ * {@code (column, id)} index created by the Flyway migrations (V4 for the partitioned
+ * table), so ordered reads and keyset continuation stay index scans.
+ */
+@Getter
+public enum PatientSortField {
+    NAME("name", Patient::getName, String::valueOf),
+    CREATED_AT("createdAt", Patient::getCreatedAt, LocalDateTime::parse),
+    DATE_OF_BIRTH("dateOfBirth", Patient::getDateOfBirth, LocalDate::parse),
+    REGISTERED_DATE("registeredDate", Patient::getRegisteredDate, LocalDate::parse);
+
+    private final String property;
+    private final Function<Patient, ? extends Comparable<?>> extractor;
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    PatientSortField(String property,
+                     Function<Patient, ? extends Comparable<?>> extractor,
+                     Function<String, ? extends Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public Comparable<?> valueOf(Patient patient) {
+        return extractor.apply(patient);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static PatientSortField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equalsIgnoreCase(property))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedSortFieldException(property));
+    }
+}
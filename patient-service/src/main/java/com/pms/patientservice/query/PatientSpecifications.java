@@ -0,0 +1,98 @@
+package com.pms.patientservice.query;
+
+import com.pms.patientservice.model.Patient;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+public final class PatientSpecifications {
+
+    private PatientSpecifications() {
+    }
+
+    /**
+     * Rows strictly after the cursor position in {@code (sortField, id)} order.
+     * The redundant leading {@code >=}/{@code <=} bound lets Postgres use it as the
+     * index condition, so the scan starts at the cursor instead of the index head.
+     */
+    public static Specification<Patient> after(PatientCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> value = root.get(cursor.getSortField().getProperty());
+            Path<UUID> id = root.get("id");
+            @SuppressWarnings("unchecked")
+            Comparable<Object> lastValue = (Comparable<Object>) cursor.getLastValue();
+            UUID lastId = cursor.getLastId();
+
+            if (cursor.getDirection().isAscending()) {
+                return cb.and(
+                        cb.greaterThanOrEqualTo(value, lastValue),
+                        cb.or(cb.greaterThan(value, lastValue), cb.greaterThan(id, lastId)));
+            }
+            return cb.and(
+                    cb.lessThanOrEqualTo(value, lastValue),
+                    cb.or(cb.lessThan(value, lastValue), cb.lessThan(id, lastId)));
+        };
+    }
+
+    /**
+     * Case-insensitive name prefix. Matches the {@code lower(name) text_pattern_ops}
+     * index, so the pattern must stay anchored at the start.
+     */
+    public static Specification<Patient> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return Specification.unrestricted();
+        }
+        String pattern = escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern, '\\');
+    }
+
+    public static Specification<Patient> dateOfBirthBetween(LocalDate from, LocalDate to) {
+        return between("dateOfBirth", from, to);
+    }
+
+    public static Specification<Patient> registeredBetween(LocalDate from, LocalDate to) {
+        return between("registeredDate", from, to);
+    }
+
+    /**
+     * Exact match on the part of the email after the {@code @}. The expression is built
+     * from literals so the rendered SQL is identical to the expression index definition.
+     */
+    public static Specification<Patient> emailDomain(String domain) {
+        if (domain == null || domain.isBlank()) {
+            return Specification.unrestricted();
+        }
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(
+                cb.lower(cb.function("split_part", String.class, root.get("email"), cb.literal("@"), cb.literal(2))),
+                normalized);
+    }
+
+    private static Specification<Patient> between(String property, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> path = root.get(property);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public static Sort keysetSort(PatientSortField sortField, Sort.Direction direction) {
+        return Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
+    }
+}
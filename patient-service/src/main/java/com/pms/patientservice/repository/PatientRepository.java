@@ -2,14 +2,17 @@ package com.pms.patientservice.repository;
 
 import com.pms.patientservice.model.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
 
-public interface PatientRepository extends JpaRepository<Patient, UUID> {
+public interface PatientRepository extends JpaRepository<Patient, UUID>, JpaSpecificationExecutor<Patient> {
     Optional<Patient> findByEmail(String email);
     
     List<Patient> findByNameContainingIgnoreCase(String name);
@@ -18,5 +21,41 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     List<Patient> findPatientsByDateOfBirthRange(@Param("startDate") java.time.LocalDate startDate, 
                                                  @Param("endDate") java.time.LocalDate endDate);
     
+    // Bounded on the partition key, so only the partitions of the requested years are scanned
+    @Query("SELECT p FROM Patient p WHERE p.registeredDate BETWEEN :startDate AND :endDate")
+    List<Patient> findPatientsByRegisteredDateRange(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(p) FROM Patient p WHERE p.registeredDate BETWEEN :startDate AND :endDate")
+    long countPatientsByRegisteredDateRange(@Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    // Planner row estimates per partition, exact counts for partitions never analyzed (V7)
+    @Query(value = "SELECT estimate_patients_count()", nativeQuery = true)
+    long estimatePatientCount();
+
+    // By-id reads resolve the patient's partition through patient_emails (V8), so only one
+    // partition is probed instead of the primary key index of every year. Prefer these over
+    // findById/findAllById/existsById, which cannot be pruned.
+    @Query(value = """
+            SELECT p.* FROM patients p
+            WHERE p.id = :id
+              AND p.registered_date = (SELECT e.registered_date FROM patient_emails e WHERE e.patient_id = :id)
+            """, nativeQuery = true)
+    Optional<Patient> findByIdInPartition(@Param("id") UUID id);
+
+    @Query(value = """
+            SELECT p.* FROM patient_emails e
+            JOIN patients p ON p.id = e.patient_id AND p.registered_date = e.registered_date
+            WHERE e.patient_id IN (:ids)
+            """, nativeQuery = true)
+    List<Patient> findAllByIdInPartitions(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM patient_emails WHERE patient_id = :id)", nativeQuery = true)
+    boolean existsByIdInPartition(@Param("id") UUID id);
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT p.email FROM Patient p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
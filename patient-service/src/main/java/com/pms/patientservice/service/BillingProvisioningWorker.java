@@ -0,0 +1,119 @@
+package com.pms.patientservice.service;
+
+import com.pms.patientservice.grpc.BillingServiceGrpcClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains billing_account_queue. A batch is claimed in a short transaction by leasing
+ * its rows (SKIP LOCKED, so instances never share a row), then each account is created
+ * with no transaction open and its outcome committed on its own: the row is deleted on
+ * success, or retried with backoff until max-attempts is reached and it is parked.
+ * A failing account therefore neither rolls back nor blocks the rest of the batch.
+ * <p>
+ * Provisioning is at-least-once: a crash or lost response after billing created the
+ * account, but before the row is deleted, sends the same patient to billing again.
+ */
+@Component
+@Slf4j
+public class BillingProvisioningWorker {
+
+    private static final String CLAIM_BATCH_SQL = """
+            UPDATE billing_account_queue
+            SET available_at = now() + make_interval(secs => ?)
+            WHERE patient_id IN (
+                SELECT patient_id FROM billing_account_queue
+                WHERE available_at <= now()
+                ORDER BY available_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING patient_id, name, email, attempts
+            """;
+
+    private static final String COMPLETE_SQL = "DELETE FROM billing_account_queue WHERE patient_id = ?::uuid";
+
+    private static final String FAIL_SQL = """
+            UPDATE billing_account_queue
+            SET attempts = attempts + 1,
+                last_error = ?,
+                available_at = CASE WHEN attempts + 1 >= ? THEN 'infinity'::timestamp
+                                    ELSE now() + make_interval(secs => ? * power(2, attempts)) END
+            WHERE patient_id = ?::uuid
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BillingServiceGrpcClient billingServiceGrpcClient;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int leaseSeconds;
+    private final int retryBackoffSeconds;
+
+    public BillingProvisioningWorker(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BillingServiceGrpcClient billingServiceGrpcClient,
+            @Value("${patient.billing-queue.batch-size:500}") int batchSize,
+            @Value("${patient.billing-queue.max-attempts:5}") int maxAttempts,
+            @Value("${patient.billing-queue.lease-seconds:300}") int leaseSeconds,
+            @Value("${patient.billing-queue.retry-backoff-seconds:30}") int retryBackoffSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.billingServiceGrpcClient = billingServiceGrpcClient;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseSeconds = leaseSeconds;
+        this.retryBackoffSeconds = retryBackoffSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${patient.billing-queue.poll-interval-ms:5000}")
+    public void drain() {
+        List<QueuedAccount> batch;
+        do {
+            batch = transactionTemplate.execute(status -> jdbcTemplate.query(CLAIM_BATCH_SQL,
+                    (rs, rowNum) -> new QueuedAccount(
+                            rs.getString("patient_id"), rs.getString("name"), rs.getString("email"), rs.getInt("attempts")),
+                    leaseSeconds, batchSize));
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            int provisioned = 0;
+            for (QueuedAccount account : batch) {
+                if (provision(account)) {
+                    provisioned++;
+                }
+            }
+            log.info("Provisioned {} of {} queued billing accounts", provisioned, batch.size());
+        } while (batch.size() == batchSize);
+    }
+
+    private boolean provision(QueuedAccount account) {
+        try {
+            billingServiceGrpcClient.createBillingAccount(account.patientId(), account.name(), account.email());
+        } catch (RuntimeException e) {
+            String error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            if (account.attempts() + 1 >= maxAttempts) {
+                log.error("Giving up on billing account for patient {} after {} attempts: {}",
+                        account.patientId(), maxAttempts, error);
+            } else {
+                log.warn("Billing account for patient {} failed, will retry: {}", account.patientId(), error);
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(FAIL_SQL, error, maxAttempts, retryBackoffSeconds, account.patientId()));
+            return false;
+        }
+        // A crash before this delete provisions the account again on a later poll
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(COMPLETE_SQL, account.patientId()));
+        return true;
+    }
+
+    private record QueuedAccount(String patientId, String name, String email, int attempts) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.pms.patientservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Keeps the yearly partitions of patients ahead of the calendar, and gives rows that
+ * landed in patients_default (registrations for a year with no partition yet, e.g.
+ * from a historical import) a partition of their own. The SQL side lives in
+ * ensure_patients_partitions() from the V4 migration.
+ */
+@Component
+@Slf4j
+public class PatientPartitionMaintenance {
+
+    private static final String ENSURE_PARTITIONS_SQL = "SELECT ensure_patients_partitions(?, ?)";
+
+    private static final String PARKED_YEARS_SQL = """
+            SELECT DISTINCT EXTRACT(YEAR FROM registered_date)::int
+            FROM patients_default
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int yearsAhead;
+
+    public PatientPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${patient.partitions.years-ahead:1}") int yearsAhead
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${patient.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        int currentYear = Year.now().getValue();
+        int created = ensurePartitions(currentYear, currentYear + yearsAhead);
+
+        List<Integer> parkedYears = jdbcTemplate.queryForList(PARKED_YEARS_SQL, Integer.class);
+        for (Integer year : parkedYears) {
+            created += ensurePartitions(year, year);
+        }
+        if (created > 0) {
+            log.info("Created {} patient partitions", created);
+        }
+    }
+
+    // Explicit transaction: under the prod profile pooled connections do not auto-commit,
+    // and the DDL would be rolled back when the connection returns to the pool
+    private int ensurePartitions(int firstYear, int lastYear) {
+        Integer created = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject(ENSURE_PARTITIONS_SQL, Integer.class, firstYear, lastYear));
+        return created != null ? created : 0;
+    }
+}
@@ -1,22 +1,37 @@
 package com.pms.patientservice.service;
 
+import com.pms.patientservice.dto.CursorPage;
 import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.dto.PatientQuery;
 import com.pms.patientservice.dto.PatientResponse;
+import com.pms.patientservice.exception.BadRequestException;
 import com.pms.patientservice.exception.EmailAlreadyExistsException;
 import com.pms.patientservice.exception.PatientNotFoundException;
 import com.pms.patientservice.grpc.BillingServiceGrpcClient;
 import com.pms.patientservice.mapper.PatientMapper;
 import com.pms.patientservice.model.Patient;
+import com.pms.patientservice.query.PatientCursor;
+import com.pms.patientservice.query.PatientSortField;
+import com.pms.patientservice.query.PatientSpecifications;
 import com.pms.patientservice.repository.PatientRepository;
+import com.pms.patientservice.support.RequestCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -24,8 +39,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PatientService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_LOOKUP = 1000;
+
     private final PatientRepository patientRepository;
     private final BillingServiceGrpcClient billingServiceGrpcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final RequestCoalescer<UUID, Optional<Patient>> patientLookups = new RequestCoalescer<>();
 
     public List<PatientResponse> getAllPatients() {
         log.info("Fetching all patients");
@@ -33,24 +53,76 @@ public class PatientService {
         return patients.stream().map(PatientMapper::toDto).toList();
     }
 
-    public Page<PatientResponse> getAllPatientsWithPagination(Pageable pageable) {
-        log.info("Fetching patients with pagination");
-        Page<Patient> patients = patientRepository.findAll(pageable);
+    public Page<PatientResponse> getAllPatientsWithPagination(int page, int size, String sortBy, String direction) {
+        log.info("Fetching patients with pagination (page={}, size={})", page, size);
+        Sort sort = Sort.by(parseDirection(direction), PatientSortField.fromProperty(sortBy).getProperty());
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        checkPageSize(size, "size");
+        Page<Patient> patients = patientRepository.findAll(PageRequest.of(page, size, sort));
         return patients.map(PatientMapper::toDto);
     }
 
-    public List<PatientResponse> getAllPatientsSorted(String sortBy, String direction) {
-        log.info("Fetching patients sorted by {} in {} direction", sortBy, direction);
-        Sort sort = Sort.by(Sort.Direction.fromString(direction.toUpperCase()), sortBy);
-        List<Patient> patients = patientRepository.findAll(sort);
-        return patients.stream().map(PatientMapper::toDto).toList();
+    public CursorPage<PatientResponse> getAllPatientsSorted(String sortBy, String direction, int limit, String cursor) {
+        log.info("Fetching up to {} patients sorted by {} in {} direction", limit, sortBy, direction);
+        return findPage(Specification.unrestricted(), sortBy, direction, limit, cursor);
+    }
+
+    public CursorPage<PatientResponse> queryPatients(PatientQuery query) {
+        log.info("Querying patients with {}", query);
+        Specification<Patient> spec = Specification.allOf(
+                PatientSpecifications.nameStartsWith(query.getNamePrefix()),
+                PatientSpecifications.dateOfBirthBetween(query.getDobFrom(), query.getDobTo()),
+                PatientSpecifications.registeredBetween(query.getRegisteredFrom(), query.getRegisteredTo()),
+                PatientSpecifications.emailDomain(query.getEmailDomain()));
+        return findPage(spec, query.getSortBy(), query.getDirection(), query.getLimit(), query.getCursor());
+    }
+
+    private CursorPage<PatientResponse> findPage(Specification<Patient> filter, String sortBy, String direction,
+                                                 int limit, String cursor) {
+        PatientSortField sortField = PatientSortField.fromProperty(sortBy);
+        Sort.Direction sortDirection = parseDirection(direction);
+        checkPageSize(limit, "limit");
+
+        Specification<Patient> spec = cursor == null || cursor.isBlank()
+                ? filter
+                : filter.and(PatientSpecifications.after(PatientCursor.decode(cursor, sortField, sortDirection)));
+        Sort sort = PatientSpecifications.keysetSort(sortField, sortDirection);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Patient> patients = patientRepository.findBy(spec, q -> q.sortBy(sort).limit(limit + 1).all());
+        boolean hasNext = patients.size() > limit;
+        List<Patient> page = hasNext ? patients.subList(0, limit) : patients;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Patient last = page.get(page.size() - 1);
+            nextCursor = new PatientCursor(sortField, sortDirection, last.getId(), sortField.valueOf(last)).encode();
+        }
+        return new CursorPage<>(page.stream().map(PatientMapper::toDto).toList(), nextCursor, hasNext);
+    }
+
+    private static void checkPageSize(int size, String parameter) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException(parameter + " must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private Sort.Direction parseDirection(String direction) {
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sort direction: " + direction);
+        }
     }
 
     public PatientResponse getPatientById(String id) {
         log.info("Fetching patient with id: {}", id);
         try {
             UUID patientId = UUID.fromString(id);
-            Patient patient = patientRepository.findById(patientId)
+            // Concurrent requests for the same id share a single database read
+            Patient patient = patientLookups.load(patientId, patientRepository::findByIdInPartition)
                     .orElseThrow(() -> new PatientNotFoundException(id));
             return PatientMapper.toDto(patient);
         } catch (IllegalArgumentException e) {
@@ -59,6 +131,31 @@ public class PatientService {
         }
     }
 
+    public List<PatientResponse> getPatientsByIds(Collection<String> ids) {
+        log.info("Fetching {} patients by id", ids.size());
+        if (ids.size() > MAX_BATCH_LOOKUP) {
+            throw new BadRequestException("At most " + MAX_BATCH_LOOKUP + " ids can be fetched per request");
+        }
+        // Malformed ids cannot match anything, so they are left out rather than failing the batch
+        List<UUID> patientIds = ids.stream()
+                .map(PatientService::parseUuid)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return patientRepository.findAllByIdInPartitions(patientIds).stream().map(PatientMapper::toDto).toList();
+    }
+
+    /**
+     * The id as a UUID, or null if it is malformed.
+     */
+    public static UUID parseUuid(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String createPatient(PatientCreation body) {
         log.info("Creating new patient with name: {}", body.getName());
         
@@ -82,23 +179,28 @@ public class PatientService {
         
         try {
             UUID patientId = UUID.fromString(id);
-            Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new PatientNotFoundException(id));
+            // Loaded and saved in one transaction so the entity stays managed and save() does not
+            // re-read it by id. The UPDATE itself still matches on id alone and so checks every
+            // partition's primary key; that is the price of keeping id as the JPA identifier.
+            Patient updatedPatient = transactionTemplate.execute(status -> {
+                Patient patient = patientRepository.findByIdInPartition(patientId)
+                    .orElseThrow(() -> new PatientNotFoundException(id));
             
-            // Check if new email conflicts with existing patients
-            if (!patient.getEmail().equals(updateRequest.getEmail()) && 
-                patientRepository.findByEmail(updateRequest.getEmail()).isPresent()) {
-                throw new EmailAlreadyExistsException(updateRequest.getEmail());
-            }
+                // Check if new email conflicts with existing patients
+                if (!patient.getEmail().equals(updateRequest.getEmail()) && 
+                    patientRepository.findByEmail(updateRequest.getEmail()).isPresent()) {
+                    throw new EmailAlreadyExistsException(updateRequest.getEmail());
+                }
             
-            // Update patient fields
-            patient.setName(updateRequest.getName());
-            patient.setEmail(updateRequest.getEmail());
-            patient.setAddress(updateRequest.getAddress());
-            patient.setDateOfBirth(updateRequest.getDateOfBirth());
-            patient.setRegisteredDate(updateRequest.getRegisteredDate());
+                // Update patient fields
+                patient.setName(updateRequest.getName());
+                patient.setEmail(updateRequest.getEmail());
+                patient.setAddress(updateRequest.getAddress());
+                patient.setDateOfBirth(updateRequest.getDateOfBirth());
+                patient.setRegisteredDate(updateRequest.getRegisteredDate());
             
-            Patient updatedPatient = patientRepository.save(patient);
+                return patientRepository.save(patient);
+            });
             log.info("Patient updated successfully with ID: {}", updatedPatient.getId());
             return PatientMapper.toDto(updatedPatient);
         } catch (IllegalArgumentException e) {
@@ -112,10 +214,13 @@ public class PatientService {
         
         try {
             UUID patientId = UUID.fromString(id);
-            Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new PatientNotFoundException(id));
+            // As in updatePatient: one pruned read, then a DELETE matched on id alone
+            transactionTemplate.executeWithoutResult(status -> {
+                Patient patient = patientRepository.findByIdInPartition(patientId)
+                    .orElseThrow(() -> new PatientNotFoundException(id));
             
-            patientRepository.delete(patient);
+                patientRepository.delete(patient);
+            });
             log.info("Patient deleted successfully with ID: {}", id);
         } catch (IllegalArgumentException e) {
             log.error("Invalid UUID format: {}", id);
@@ -136,10 +241,17 @@ public class PatientService {
         return patients.stream().map(PatientMapper::toDto).toList();
     }
 
+    public List<PatientResponse> getPatientsByRegisteredDateRange(java.time.LocalDate startDate,
+                                                                 java.time.LocalDate endDate) {
+        log.info("Fetching patients registered between {} and {}", startDate, endDate);
+        List<Patient> patients = patientRepository.findPatientsByRegisteredDateRange(startDate, endDate);
+        return patients.stream().map(PatientMapper::toDto).toList();
+    }
+
     public boolean patientExists(String id) {
         try {
             UUID patientId = UUID.fromString(id);
-            return patientRepository.existsById(patientId);
+            return patientRepository.existsByIdInPartition(patientId);
         } catch (IllegalArgumentException e) {
             return false;
         }
@@ -151,23 +263,58 @@ public class PatientService {
 
     public List<String> createMultiplePatients(List<PatientCreation> patientsCreation) {
         log.info("Creating {} patients in bulk", patientsCreation.size());
-        List<String> createdIds = new java.util.ArrayList<>();
-        
+
+        Set<String> emails = new HashSet<>();
         for (PatientCreation patientCreation : patientsCreation) {
-            String patientId = createPatient(patientCreation);
-            createdIds.add(patientId);
+            if (!emails.add(patientCreation.getEmail())) {
+                throw new EmailAlreadyExistsException(patientCreation.getEmail());
+            }
+        }
+        List<String> existing = patientRepository.findExistingEmails(emails);
+        if (!existing.isEmpty()) {
+            throw new EmailAlreadyExistsException(existing.get(0));
+        }
+
+        // Single transaction so Hibernate can flush the inserts as JDBC batches
+        List<Patient> savedPatients = transactionTemplate.execute(status -> patientRepository.saveAll(
+                patientsCreation.stream().map(PatientMapper::toModel).toList()));
+
+        List<String> createdIds = new java.util.ArrayList<>();
+        for (Patient savedPatient : savedPatients) {
+            billingServiceGrpcClient.createBillingAccount(
+                    savedPatient.getId().toString(), savedPatient.getName(), savedPatient.getEmail()
+            );
+            createdIds.add(savedPatient.getId().toString());
         }
         
         log.info("Successfully created {} patients", createdIds.size());
         return createdIds;
     }
 
-    public Object getPatientStatistics() {
-        log.info("Fetching patient statistics");
-        long totalPatients = patientRepository.count();
-        return Map.of(
-            "totalPatients", totalPatients,
-            "timestamp", java.time.LocalDateTime.now()
-        );
+    /**
+     * With a registration date range the count only reads the partitions of those years.
+     * Otherwise it is an exact count over all partitions, unless the caller opts into the
+     * catalog estimate, which stays cheap however large the table grows.
+     */
+    public Object getPatientStatistics(java.time.LocalDate startDate, java.time.LocalDate endDate, boolean estimate) {
+        log.info("Fetching patient statistics for registrations between {} and {}", startDate, endDate);
+        if ((startDate == null) != (endDate == null)) {
+            throw new BadRequestException("startDate and endDate must be given together");
+        }
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        if (startDate != null) {
+            statistics.put("totalPatients", patientRepository.countPatientsByRegisteredDateRange(startDate, endDate));
+            statistics.put("estimated", false);
+            statistics.put("startDate", startDate);
+            statistics.put("endDate", endDate);
+        } else if (estimate) {
+            statistics.put("totalPatients", patientRepository.estimatePatientCount());
+            statistics.put("estimated", true);
+        } else {
+            statistics.put("totalPatients", patientRepository.count());
+            statistics.put("estimated", false);
+        }
+        statistics.put("timestamp", java.time.LocalDateTime.now());
+        return statistics;
     }
 }
@@ -0,0 +1,54 @@
+package com.pms.patientservice.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one call to the loader.
+ * The first caller runs the load on its own thread; callers arriving while it is in
+ * flight wait for and share its result. Nothing is cached once the load completes.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            joined(key);
+            return await(existing);
+        }
+        try {
+            future.complete(loader.apply(key));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+        return await(future);
+    }
+
+    /**
+     * Called when a caller shares a load already in flight instead of starting its own.
+     */
+    void joined(K key) {
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.pms.patientservice.support;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously
+ * at {@code refillPerSecond}. Each admitted request takes one token.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(long capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Whole seconds until the next token is available, at least 1.
+     */
+    public synchronized long secondsUntilNextToken() {
+        refill();
+        double missing = Math.max(0, 1 - tokens);
+        return Math.max(1, (long) Math.ceil(missing / refillPerNano / 1_000_000_000.0));
+    }
+
+    /**
+     * Returns a token taken by {@link #tryConsume()} for a request that was rejected later.
+     */
+    public synchronized void refund() {
+        refill();
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,18 @@
+-- Baseline patients schema. IF NOT EXISTS keeps this safe on databases that were
+-- previously created by Hibernate's ddl-auto=update.
+CREATE TABLE IF NOT EXISTS patients (
+    id              UUID         NOT NULL PRIMARY KEY,
+    name            VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL UNIQUE,
+    address         VARCHAR(255) NOT NULL,
+    date_of_birth   DATE         NOT NULL,
+    registered_date DATE         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+-- (column, id) indexes backing sorted browsing and keyset continuation
+CREATE INDEX IF NOT EXISTS idx_patients_name_id ON patients (name, id);
+CREATE INDEX IF NOT EXISTS idx_patients_created_at_id ON patients (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_patients_date_of_birth_id ON patients (date_of_birth, id);
+CREATE INDEX IF NOT EXISTS idx_patients_registered_date_id ON patients (registered_date, id);
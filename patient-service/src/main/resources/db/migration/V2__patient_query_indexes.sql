@@ -0,0 +1,10 @@
+-- Expression indexes backing /api/v1/patients/advanced/query.
+-- JPA @Index cannot express these, so they only live in migrations.
+
+-- Case-insensitive name prefix: lower(name) LIKE 'abc%'
+CREATE INDEX IF NOT EXISTS idx_patients_name_prefix_id
+    ON patients (lower(name) text_pattern_ops, id);
+
+-- Email domain: lower(split_part(email, '@', 2)) = 'example.com'
+CREATE INDEX IF NOT EXISTS idx_patients_email_domain_id
+    ON patients (lower(split_part(email, '@', 2)), id);
@@ -0,0 +1,10 @@
+-- Patients whose billing account still has to be created. Filled set-based by the
+-- bulk import merge and drained in batches by BillingProvisioningWorker.
+CREATE TABLE IF NOT EXISTS billing_account_queue (
+    patient_id  UUID         NOT NULL PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    enqueued_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_billing_account_queue_enqueued_at ON billing_account_queue (enqueued_at);
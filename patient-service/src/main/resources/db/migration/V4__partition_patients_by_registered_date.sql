@@ -0,0 +1,150 @@
+-- Range-partition patients by registered_date, one partition per calendar year
+-- (patients_y2024, ...). Queries filtering on registered_date only touch the
+-- partitions of the requested years.
+--
+-- A unique constraint on a partitioned table must include the partition key, so
+-- email uniqueness moves to patient_emails, kept in step with patients by triggers.
+-- Rows for a year without a partition land in patients_default until
+-- ensure_patients_partitions() creates that year and moves them out.
+--
+-- Existing rows are copied in this migration's transaction; on a large table run
+-- it in a maintenance window.
+
+ALTER TABLE patients RENAME TO patients_unpartitioned;
+
+-- Index names are schema-wide; free them for the partitioned table
+DROP INDEX IF EXISTS idx_patients_name_id;
+DROP INDEX IF EXISTS idx_patients_created_at_id;
+DROP INDEX IF EXISTS idx_patients_date_of_birth_id;
+DROP INDEX IF EXISTS idx_patients_registered_date_id;
+DROP INDEX IF EXISTS idx_patients_name_prefix_id;
+DROP INDEX IF EXISTS idx_patients_email_domain_id;
+
+CREATE TABLE patients (
+    id              UUID         NOT NULL,
+    name            VARCHAR(255) NOT NULL,
+    email           VARCHAR(255) NOT NULL,
+    address         VARCHAR(255) NOT NULL,
+    date_of_birth   DATE         NOT NULL,
+    registered_date DATE         NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_patients PRIMARY KEY (id, registered_date)
+) PARTITION BY RANGE (registered_date);
+
+CREATE TABLE patients_default PARTITION OF patients DEFAULT;
+
+CREATE TABLE patient_emails (
+    email      VARCHAR(255) NOT NULL,
+    patient_id UUID         NOT NULL,
+    CONSTRAINT pk_patient_emails PRIMARY KEY (email),
+    CONSTRAINT uk_patient_emails_patient_id UNIQUE (patient_id)
+);
+
+-- Creates the yearly partitions from first_year to last_year that do not exist yet.
+-- A new range may not overlap rows in the default partition, so the partition is
+-- built as a plain table, the year's rows are moved into it, and then it is attached.
+-- Serialized with an advisory lock so several service instances can run it at once.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_patients_partitions(first_year INT, last_year INT) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+    range_start    DATE;
+    range_end      DATE;
+    created        INT := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_patients_partitions'));
+    FOR y IN first_year..last_year LOOP
+        partition_name := format('patients_y%s', y);
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+
+        range_start := make_date(y, 1, 1);
+        range_end := make_date(y + 1, 1, 1);
+        EXECUTE format('CREATE TABLE %I (LIKE patients INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+
+        -- Moving rows between partitions must not release their emails
+        PERFORM set_config('patients.repartitioning', 'on', true);
+        EXECUTE format('WITH moved AS (DELETE FROM patients_default WHERE registered_date >= $1 AND registered_date < $2 RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', partition_name)
+            USING range_start, range_end;
+        PERFORM set_config('patients.repartitioning', 'off', true);
+
+        EXECUTE format('ALTER TABLE patients ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, range_end);
+        created := created + 1;
+    END LOOP;
+    RETURN created;
+END $$;
+
+-- Partitions for every year that has data, plus the current and next year
+SELECT ensure_patients_partitions(y, y)
+FROM (SELECT DISTINCT EXTRACT(YEAR FROM registered_date)::INT AS y FROM patients_unpartitioned
+      UNION
+      SELECT EXTRACT(YEAR FROM current_date)::INT + offs FROM generate_series(0, 1) offs) years;
+
+INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+SELECT id, name, email, address, date_of_birth, registered_date, created_at, updated_at
+FROM patients_unpartitioned
+ORDER BY registered_date, id;
+
+INSERT INTO patient_emails (email, patient_id)
+SELECT email, id FROM patients_unpartitioned;
+
+DROP TABLE patients_unpartitioned;
+
+-- Indexes on the parent are built on every partition, and on partitions created later
+CREATE INDEX idx_patients_email ON patients (email);
+CREATE INDEX idx_patients_name_id ON patients (name, id);
+CREATE INDEX idx_patients_created_at_id ON patients (created_at, id);
+CREATE INDEX idx_patients_date_of_birth_id ON patients (date_of_birth, id);
+CREATE INDEX idx_patients_registered_date_id ON patients (registered_date, id);
+CREATE INDEX idx_patients_name_prefix_id ON patients (lower(name) text_pattern_ops, id);
+CREATE INDEX idx_patients_email_domain_id ON patients (lower(split_part(email, '@', 2)), id);
+
+-- Claims the email in patient_emails on insert and follows email changes on update.
+-- The email may already be claimed by the same patient: the bulk import claims
+-- emails up front, and an UPDATE that changes registered_date re-inserts the row
+-- into another partition.
+CREATE OR REPLACE FUNCTION patients_claim_email() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        IF NEW.email IS DISTINCT FROM OLD.email THEN
+            UPDATE patient_emails SET email = NEW.email WHERE patient_id = OLD.id;
+        END IF;
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO patient_emails (email, patient_id) VALUES (NEW.email, NEW.id)
+    ON CONFLICT (email) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (SELECT 1 FROM patient_emails WHERE email = NEW.email AND patient_id = NEW.id) THEN
+        RAISE unique_violation USING
+            MESSAGE = 'duplicate key value violates unique constraint "pk_patient_emails"',
+            DETAIL = format('Key (email)=(%s) already exists.', NEW.email),
+            CONSTRAINT = 'pk_patient_emails';
+    END IF;
+    RETURN NEW;
+END $$;
+
+-- Releases the email once the patient is gone, but not when the row only moved partitions
+CREATE OR REPLACE FUNCTION patients_release_email() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF current_setting('patients.repartitioning', true) IS DISTINCT FROM 'on'
+            AND NOT EXISTS (SELECT 1 FROM patients WHERE id = OLD.id) THEN
+        DELETE FROM patient_emails WHERE patient_id = OLD.id;
+    END IF;
+    RETURN OLD;
+END $$;
+
+CREATE TRIGGER trg_patients_claim_email
+    BEFORE INSERT OR UPDATE OF email ON patients
+    FOR EACH ROW EXECUTE FUNCTION patients_claim_email();
+
+CREATE TRIGGER trg_patients_release_email
+    AFTER DELETE ON patients
+    FOR EACH ROW EXECUTE FUNCTION patients_release_email();
+
+ANALYZE patients;
+ANALYZE patient_emails;
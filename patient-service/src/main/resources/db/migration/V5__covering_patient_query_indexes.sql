@@ -0,0 +1,20 @@
+-- Covering versions of the two filter indexes. A name prefix or email domain filter is
+-- usually combined with a sort on another column, so Postgres cannot walk the sort
+-- index and stop after one page: without a covering index it either walks the sort
+-- index fetching and discarding heap rows, or fetches every match from the heap before
+-- sorting. With the remaining columns INCLUDEd, it reads the matches with an index-only
+-- scan and sorts them (measured on 500k rows: 145 ms -> 1 ms for a name prefix,
+-- 39 ms -> 1 ms for a domain sorted by createdAt).
+--
+-- The (column, id) sort indexes stay narrow. A page is at most 101 rows, so their heap
+-- fetches are cheap, and covering all six indexes cost 36% of insert throughput and
+-- 2.3x the WAL. These two cost about 9% and 1.3x. Index-only scans need all-visible
+-- pages, which autovacuum maintains.
+
+DROP INDEX IF EXISTS idx_patients_name_prefix_id;
+DROP INDEX IF EXISTS idx_patients_email_domain_id;
+
+CREATE INDEX idx_patients_name_prefix_id ON patients (lower(name) text_pattern_ops, id)
+    INCLUDE (name, email, address, date_of_birth, registered_date, created_at, updated_at);
+CREATE INDEX idx_patients_email_domain_id ON patients (lower(split_part(email, '@', 2)), id)
+    INCLUDE (name, email, address, date_of_birth, registered_date, created_at, updated_at);
@@ -0,0 +1,14 @@
+-- Per-row retry state for billing_account_queue. A claimed row is leased by pushing
+-- available_at into the future; it is deleted once its account is created, or pushed
+-- back with exponential backoff when the call fails. After the last allowed attempt
+-- available_at becomes 'infinity', which parks the row for manual follow-up without
+-- blocking the head of the queue.
+ALTER TABLE billing_account_queue
+    ADD COLUMN attempts     INT          NOT NULL DEFAULT 0,
+    ADD COLUMN last_error   TEXT,
+    ADD COLUMN available_at TIMESTAMP(6) NOT NULL DEFAULT now();
+
+UPDATE billing_account_queue SET available_at = enqueued_at;
+
+DROP INDEX IF EXISTS idx_billing_account_queue_enqueued_at;
+CREATE INDEX idx_billing_account_queue_available_at ON billing_account_queue (available_at);
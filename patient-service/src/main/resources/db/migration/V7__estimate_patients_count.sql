@@ -0,0 +1,26 @@
+-- Fast approximate row count of patients for /statistics?estimate=true. Uses the
+-- planner's per-partition row estimate where a partition has been analyzed, and
+-- counts rows exactly in partitions that never were (reltuples = -1), such as a
+-- freshly created year, so those are never reported as empty.
+CREATE OR REPLACE FUNCTION estimate_patients_count() RETURNS BIGINT
+LANGUAGE plpgsql STABLE AS $$
+DECLARE
+    part    RECORD;
+    counted BIGINT;
+    total   BIGINT := 0;
+BEGIN
+    FOR part IN
+        SELECT c.oid::regclass AS partition, c.reltuples
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'patients'::regclass
+    LOOP
+        IF part.reltuples < 0 THEN
+            EXECUTE format('SELECT count(*) FROM %s', part.partition) INTO counted;
+            total := total + counted;
+        ELSE
+            total := total + part.reltuples::BIGINT;
+        END IF;
+    END LOOP;
+    RETURN total;
+END $$;
@@ -0,0 +1,42 @@
+-- patients' primary key is (id, registered_date), so a lookup by id alone probes the
+-- primary key index of every yearly partition. patient_emails already holds one row
+-- per patient keyed uniquely by patient_id; it now also records the patient's
+-- registered_date, so by-id reads resolve the partition first and touch only that one.
+
+ALTER TABLE patient_emails ADD COLUMN registered_date DATE;
+
+UPDATE patient_emails e
+SET registered_date = p.registered_date
+FROM patients p
+WHERE p.id = e.patient_id;
+
+ALTER TABLE patient_emails ALTER COLUMN registered_date SET NOT NULL;
+
+-- Same as V4, but also follows registered_date so the lookup tracks rows that move partitions
+CREATE OR REPLACE FUNCTION patients_claim_email() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        IF NEW.email IS DISTINCT FROM OLD.email OR NEW.registered_date IS DISTINCT FROM OLD.registered_date THEN
+            UPDATE patient_emails SET email = NEW.email, registered_date = NEW.registered_date
+            WHERE patient_id = OLD.id;
+        END IF;
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO patient_emails (email, patient_id, registered_date) VALUES (NEW.email, NEW.id, NEW.registered_date)
+    ON CONFLICT (email) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (SELECT 1 FROM patient_emails WHERE email = NEW.email AND patient_id = NEW.id) THEN
+        RAISE unique_violation USING
+            MESSAGE = 'duplicate key value violates unique constraint "pk_patient_emails"',
+            DETAIL = format('Key (email)=(%s) already exists.', NEW.email),
+            CONSTRAINT = 'pk_patient_emails';
+    END IF;
+    RETURN NEW;
+END $$;
+
+DROP TRIGGER trg_patients_claim_email ON patients;
+
+CREATE TRIGGER trg_patients_claim_email
+    BEFORE INSERT OR UPDATE OF email, registered_date ON patients
+    FOR EACH ROW EXECUTE FUNCTION patients_claim_email();
@@ -0,0 +1,24 @@
+package com.pms.patientservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApplicationConfigTests {
+
+	@Test
+	void restErrorDetailsAndGrpcPortAreConfigured() {
+		YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+		yaml.setResources(new ClassPathResource("application.yml"));
+		Properties properties = yaml.getObject();
+
+		assertEquals("always", properties.getProperty("server.error.include-message"));
+		assertEquals("always", properties.getProperty("server.error.include-binding-errors"));
+		assertEquals("9001", properties.getProperty("grpc.server.port"));
+	}
+
+}
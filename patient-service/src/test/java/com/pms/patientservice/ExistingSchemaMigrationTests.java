@@ -0,0 +1,83 @@
+package com.pms.patientservice;
+
+import com.pms.patientservice.model.Patient;
+import com.pms.patientservice.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the service against a database whose patients table was created by Hibernate
+ * ddl-auto before Flyway owned the schema, and checks it is baselined and migrated
+ * with its data intact. The database is prepared before the context starts, so this
+ * class does not use the per-context database of {@link PostgresIntegrationTest}.
+ */
+@SpringBootTest(properties = {"patient.billing-queue.poll-interval-ms=3600000", "grpc.server.port=0"})
+@EnabledIf("com.pms.patientservice.PostgresTestConfiguration#isAvailable")
+class ExistingSchemaMigrationTests {
+
+	private static PostgresTestConfiguration.TestDatabase database;
+
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> database.url());
+		registry.add("spring.datasource.username", () -> database.username());
+		registry.add("spring.datasource.password", () -> database.password());
+	}
+
+	@BeforeAll
+	static void createSchemaLikeDdlAuto() {
+		database = PostgresTestConfiguration.createDatabase();
+		JdbcTemplate legacy = database.jdbcTemplate();
+		// DDL as emitted by Hibernate 6 for the original Patient entity
+		legacy.execute("""
+				create table patients (
+				    id uuid not null,
+				    address varchar(255) not null,
+				    created_at timestamp(6) not null,
+				    date_of_birth date not null,
+				    email varchar(255) not null,
+				    name varchar(255) not null,
+				    registered_date date not null,
+				    updated_at timestamp(6) not null,
+				    primary key (id)
+				)
+				""");
+		legacy.execute("alter table if exists patients add constraint UKa370hmxgv0l5c9panryr1ji7d unique (email)");
+		legacy.execute("""
+				insert into patients (id, address, created_at, date_of_birth, email, name, registered_date, updated_at)
+				values (gen_random_uuid(), 'Main Street 1', now(), date '1980-01-01', 'legacy@example.com',
+				        'Legacy Patient', date '2021-05-01', now())
+				""");
+	}
+
+	@Test
+	void existingDatabaseIsBaselinedAndMigrated() {
+		List<String> versions = jdbcTemplate.queryForList(
+				"SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+		assertEquals("0", versions.getFirst());
+		assertTrue(versions.contains("1"), versions::toString);
+
+		Patient legacy = patientRepository.findByEmail("legacy@example.com").orElseThrow();
+		assertEquals("Legacy Patient", legacy.getName());
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM patient_emails WHERE email = 'legacy@example.com'", Integer.class));
+	}
+
+}
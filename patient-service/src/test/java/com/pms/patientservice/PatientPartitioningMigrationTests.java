@@ -0,0 +1,190 @@
+package com.pms.patientservice;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Migrates a populated pre-partitioning schema (V3) to the partitioned patients table
+ * and checks data placement, email uniqueness across partitions, partition maintenance
+ * and that registration date ranges and by-id lookups are pruned to the matching partitions.
+ */
+@EnabledIf("com.pms.patientservice.PostgresTestConfiguration#isAvailable")
+class PatientPartitioningMigrationTests {
+
+	private static final int SEED_ROWS = 5_000;
+
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void migrate() {
+		PostgresTestConfiguration.TestDatabase database = PostgresTestConfiguration.createDatabase();
+		SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+				database.url(), database.username(), database.password(), true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+
+		Flyway.configure().dataSource(dataSource).target("3").load().migrate();
+		jdbcTemplate.update("""
+				INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+				SELECT gen_random_uuid(), 'Patient ' || g, 'patient' || g || '@seed.example', 'Main Street ' || g,
+				       date '1960-01-01' + (g % 15000), date '2019-01-01' + (g % 1826), now(), now()
+				FROM generate_series(1, ?) g
+				""", SEED_ROWS);
+
+		Flyway.configure().dataSource(dataSource).load().migrate();
+	}
+
+	@Test
+	void existingRowsAreMovedIntoYearlyPartitions() {
+		Map<String, Integer> rowsPerPartition = new TreeMap<>();
+		jdbcTemplate.query("""
+				SELECT tableoid::regclass::text AS partition, count(*) AS rows
+				FROM patients WHERE email LIKE '%@seed.example' GROUP BY 1
+				""", (RowCallbackHandler) rs -> rowsPerPartition.put(rs.getString("partition"), rs.getInt("rows")));
+
+		assertEquals(List.of("patients_y2019", "patients_y2020", "patients_y2021", "patients_y2022", "patients_y2023"),
+				List.copyOf(rowsPerPartition.keySet()));
+		assertEquals(SEED_ROWS, rowsPerPartition.values().stream().mapToInt(Integer::intValue).sum());
+		assertEquals(SEED_ROWS, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM patient_emails WHERE email LIKE '%@seed.example'", Integer.class));
+	}
+
+	@Test
+	void emailStaysUniqueAcrossPartitions() {
+		assertThrows(DuplicateKeyException.class, () -> insert("patient1@seed.example", "2022-06-01"));
+	}
+
+	@Test
+	void changingRegisteredDateMovesRowAndKeepsEmail() {
+		UUID id = insert("mover@example.com", "2020-02-01");
+
+		jdbcTemplate.update("UPDATE patients SET registered_date = '2023-02-01', email = 'moved@example.com' WHERE id = ?", id);
+		assertEquals("patients_y2023", partitionOf(id));
+		assertEquals(id, jdbcTemplate.queryForObject(
+				"SELECT patient_id FROM patient_emails WHERE email = 'moved@example.com'", UUID.class));
+		assertEquals(0, countEmails("mover@example.com"));
+
+		jdbcTemplate.update("DELETE FROM patients WHERE id = ?", id);
+		assertEquals(0, countEmails("moved@example.com"));
+	}
+
+	@Test
+	void lookupDateFollowsRowsMovedBetweenPartitions() {
+		UUID id = insert("lookup@example.com", "2020-05-01");
+		assertEquals("2020-05-01", lookupDateOf(id));
+
+		jdbcTemplate.update("UPDATE patients SET registered_date = '2022-05-01' WHERE id = ?", id);
+		assertEquals("2022-05-01", lookupDateOf(id));
+		assertEquals(SEED_ROWS, jdbcTemplate.queryForObject("""
+				SELECT count(*) FROM patient_emails e
+				JOIN patients p ON p.id = e.patient_id AND p.registered_date = e.registered_date
+				WHERE e.email LIKE '%@seed.example'
+				""", Integer.class));
+	}
+
+	@Test
+	void lookupByIdOnlyScansThePatientsPartition() {
+		UUID id = jdbcTemplate.queryForObject(
+				"SELECT id FROM patients WHERE email = 'patient1@seed.example'", UUID.class);
+		jdbcTemplate.execute("ANALYZE patients");
+		jdbcTemplate.execute("ANALYZE patient_emails");
+
+		String plan = String.join("\n", jdbcTemplate.queryForList("""
+				EXPLAIN (ANALYZE, COSTS OFF)
+				SELECT p.* FROM patients p
+				WHERE p.id = ?
+				  AND p.registered_date = (SELECT e.registered_date FROM patient_emails e WHERE e.patient_id = ?)
+				""", String.class, id, id));
+
+		assertTrue(plan.contains("patients_y2019"), plan);
+		// Partitions ruled out at execution time are listed as "never executed" or dropped from the plan
+		for (String partition : List.of("patients_y2020", "patients_y2021", "patients_y2022", "patients_y2023")) {
+			assertFalse(plan.lines().anyMatch(line -> line.contains(partition) && !line.contains("never executed")), plan);
+		}
+	}
+
+	@Test
+	void ensurePartitionsMovesRowsOutOfDefaultPartition() {
+		UUID id = insert("historic@example.com", "1999-07-14");
+		assertEquals("patients_default", partitionOf(id));
+
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT ensure_patients_partitions(1999, 1999)", Integer.class));
+		assertEquals("patients_y1999", partitionOf(id));
+		assertEquals(1, countEmails("historic@example.com"));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT ensure_patients_partitions(1999, 1999)", Integer.class));
+	}
+
+	@Test
+	void estimateCountsNeverAnalyzedPartitionsExactly() {
+		jdbcTemplate.execute("ANALYZE patients");
+		jdbcTemplate.queryForObject("SELECT ensure_patients_partitions(1985, 1985)", Integer.class);
+		long before = jdbcTemplate.queryForObject("SELECT estimate_patients_count()", Long.class);
+
+		insert("fresh1@example.com", "1985-01-10");
+		insert("fresh2@example.com", "1985-02-10");
+		insert("fresh3@example.com", "1985-03-10");
+
+		assertEquals(before + 3, jdbcTemplate.queryForObject("SELECT estimate_patients_count()", Long.class));
+	}
+
+	@Test
+	void registeredDateRangeOnlyScansMatchingPartitions() {
+		jdbcTemplate.execute("ANALYZE patients");
+		// Bound parameters, as Hibernate sends them, pruned when the generic plan starts
+		jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+		jdbcTemplate.execute("""
+				PREPARE registered_count(date, date) AS
+				SELECT count(*) FROM patients WHERE registered_date BETWEEN $1 AND $2
+				""");
+		try {
+			String plan = String.join("\n", jdbcTemplate.queryForList(
+					"EXPLAIN (ANALYZE, COSTS OFF) EXECUTE registered_count('2021-03-01', '2021-06-30')", String.class));
+
+			assertTrue(plan.contains("patients_y2021"), plan);
+			assertFalse(plan.contains("patients_y2020"), plan);
+			assertFalse(plan.contains("patients_y2022"), plan);
+			assertFalse(plan.contains("patients_default"), plan);
+		} finally {
+			jdbcTemplate.execute("DEALLOCATE registered_count");
+			jdbcTemplate.execute("RESET plan_cache_mode");
+		}
+	}
+
+	private static UUID insert(String email, String registeredDate) {
+		UUID id = UUID.randomUUID();
+		jdbcTemplate.update("""
+				INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+				VALUES (?, 'Test Patient', ?, 'Main Street 1', date '1980-01-01', ?::date, now(), now())
+				""", id, email, registeredDate);
+		return id;
+	}
+
+	private static String partitionOf(UUID id) {
+		return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM patients WHERE id = ?", String.class, id);
+	}
+
+	private static String lookupDateOf(UUID id) {
+		return jdbcTemplate.queryForObject(
+				"SELECT registered_date::text FROM patient_emails WHERE patient_id = ?", String.class, id);
+	}
+
+	private static int countEmails(String email) {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM patient_emails WHERE email = ?", Integer.class, email);
+	}
+
+}
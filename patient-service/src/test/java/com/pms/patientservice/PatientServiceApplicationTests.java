@@ -1,9 +1,8 @@
 package com.pms.patientservice;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@PostgresIntegrationTest
 class PatientServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,79 @@
+package com.pms.patientservice;
+
+import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.service.PatientService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk-insert benchmark for the prod persistence profile. Run with
+ * {@code mvn test -Dtest=PersistenceProfileBenchmarkTests -Dbenchmark=true} (needs Docker
+ * or {@code TEST_POSTGRES_URL}).
+ */
+@Slf4j
+@PostgresIntegrationTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("prod")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceProfileBenchmarkTests {
+
+	private static final int BATCHES = 20;
+	private static final int BATCH_ROWS = 1_000;
+	private static final int JDBC_BATCH_SIZE = 50;
+
+	@Autowired
+	private PatientService patientService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void bulkInsertsAreBatched() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		patientService.createMultiplePatients(patients(-1, 100)); // warm up
+		statistics.clear();
+
+		long start = System.nanoTime();
+		for (int batch = 0; batch < BATCHES; batch++) {
+			patientService.createMultiplePatients(patients(batch, BATCH_ROWS));
+		}
+		double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		long rows = (long) BATCHES * BATCH_ROWS;
+		log.info("Inserted {} patients in {}s ({} rows/sec), {} statements prepared, {} JDBC batches",
+				rows, String.format("%.2f", seconds), Math.round(rows / seconds),
+				statistics.getPrepareStatementCount(), rows / JDBC_BATCH_SIZE);
+
+		assertEquals(rows, statistics.getEntityInsertCount());
+		// One email lookup plus one INSERT per JDBC batch for every call
+		long expectedStatements = BATCHES * (1 + BATCH_ROWS / JDBC_BATCH_SIZE);
+		assertTrue(statistics.getPrepareStatementCount() <= expectedStatements,
+				"inserts were not batched: " + statistics.getPrepareStatementCount() + " statements");
+	}
+
+	private static List<PatientCreation> patients(int batch, int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> new PatientCreation(
+						"Patient " + batch + "-" + i,
+						"patient" + batch + "-" + i + "@bench.example",
+						"Main Street " + i,
+						LocalDate.of(1980, 1, 1).plusDays(i),
+						LocalDate.of(2024, 1, 1)))
+				.toList();
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.pms.patientservice;
+
+import com.pms.patientservice.grpc.BillingServiceGrpcClient;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Boots the service against its own database on the shared test Postgres
+ * ({@link PostgresTestConfiguration}), with billing mocked, the billing queue worker idle
+ * and the gRPC server on a random port, since cached contexts stay running side by side.
+ * Test classes with the same remaining configuration share one context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {"patient.billing-queue.poll-interval-ms=3600000", "grpc.server.port=0"})
+@Import(PostgresTestConfiguration.class)
+@MockitoBean(types = BillingServiceGrpcClient.class)
+@EnabledIf("com.pms.patientservice.PostgresTestConfiguration#isAvailable")
+public @interface PostgresIntegrationTest {
+}
@@ -0,0 +1,104 @@
+package com.pms.patientservice;
+
+import org.postgresql.Driver;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * PostgreSQL for the integration tests. One server is shared by the whole test run: a
+ * postgres:15 container, or the server at {@code TEST_POSTGRES_URL} (with
+ * {@code TEST_POSTGRES_USERNAME} and {@code TEST_POSTGRES_PASSWORD}) when Docker is not
+ * available. Each Spring context, and each {@link #createDatabase()} call, gets its own
+ * empty database on that server, so Flyway always starts from scratch and contexts never
+ * see each other's rows.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+	private static final String EXTERNAL_URL = System.getenv("TEST_POSTGRES_URL");
+
+	private static final List<String> createdDatabases = new ArrayList<>();
+
+	private static TestDatabase server;
+
+	private static JdbcTemplate admin;
+
+	@Bean
+	JdbcConnectionDetails postgresConnectionDetails() {
+		TestDatabase database = createDatabase();
+		return new JdbcConnectionDetails() {
+			@Override
+			public String getJdbcUrl() {
+				return database.url();
+			}
+
+			@Override
+			public String getUsername() {
+				return database.username();
+			}
+
+			@Override
+			public String getPassword() {
+				return database.password();
+			}
+		};
+	}
+
+	/**
+	 * Whether integration tests can run here; referenced by {@link PostgresIntegrationTest}.
+	 */
+	public static boolean isAvailable() {
+		return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable();
+	}
+
+	public static synchronized TestDatabase createDatabase() {
+		if (server == null) {
+			server = startServer();
+			admin = server.jdbcTemplate();
+		}
+		String name = "pms_test_" + UUID.randomUUID().toString().replace("-", "");
+		admin.execute("CREATE DATABASE " + name);
+		createdDatabases.add(name);
+
+		Properties url = Driver.parseURL(server.url(), null);
+		return new TestDatabase("jdbc:postgresql://%s:%s/%s".formatted(url.getProperty("PGHOST"), url.getProperty("PGPORT"), name),
+				server.username(), server.password());
+	}
+
+	private static TestDatabase startServer() {
+		if (EXTERNAL_URL != null) {
+			Runtime.getRuntime().addShutdownHook(new Thread(PostgresTestConfiguration::dropDatabases));
+			return new TestDatabase(EXTERNAL_URL,
+					System.getenv().getOrDefault("TEST_POSTGRES_USERNAME", "postgres"),
+					System.getenv().getOrDefault("TEST_POSTGRES_PASSWORD", "postgres"));
+		}
+		// Not stopped explicitly: Testcontainers removes it, and its databases, when the JVM exits
+		PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:15");
+		container.start();
+		return new TestDatabase(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+	}
+
+	private static synchronized void dropDatabases() {
+		for (String name : createdDatabases) {
+			admin.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+		}
+	}
+
+	public record TestDatabase(String url, String username, String password) {
+
+		public JdbcTemplate jdbcTemplate() {
+			return new JdbcTemplate(new SingleConnectionDataSource(url, username, password, true));
+		}
+	}
+
+}
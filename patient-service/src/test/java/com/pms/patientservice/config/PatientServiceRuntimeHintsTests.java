@@ -0,0 +1,64 @@
+package com.pms.patientservice.config;
+
+import billing.BillingRequest;
+import billing.BillingResponse;
+import com.pms.patientservice.dto.PatientQuery;
+import com.pms.patientservice.model.Patient;
+import com.pms.patientservice.model.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.ReflectionHintsPredicates;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import patient.GetPatientRequest;
+import patient.GetPatientsRequest;
+import patient.GetPatientsResponse;
+import patient.ListPatientsRequest;
+import patient.PatientRecord;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PatientServiceRuntimeHintsTests {
+
+	private final ReflectionHintsPredicates reflection = RuntimeHintsPredicates.reflection();
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	PatientServiceRuntimeHintsTests() {
+		new PatientServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void protobufMessagesAndBuildersAreReflective() throws NoSuchMethodException {
+		for (Class<?> message : List.of(PatientRecord.class, GetPatientRequest.class, GetPatientsRequest.class,
+				GetPatientsResponse.class, ListPatientsRequest.class, BillingRequest.class, BillingResponse.class)) {
+			assertTrue(reflection.onMethod(message, "getDefaultInstance").invoke().test(hints), message.getName());
+			assertTrue(reflection.onMethod(message.getMethod("newBuilder")).invoke().test(hints), message.getName());
+		}
+
+		// The field accessor table looks these up by name on the message and its builder
+		assertTrue(reflection.onMethod(PatientRecord.class, "getName").invoke().test(hints));
+		assertTrue(reflection.onMethod(PatientRecord.Builder.class.getMethod("setName", String.class)).invoke().test(hints));
+		assertTrue(reflection.onMethod(GetPatientsResponse.class, "getMissingIdsList").invoke().test(hints));
+		assertTrue(reflection.onMethod(BillingRequest.Builder.class.getMethod("setPatientId", String.class)).invoke().test(hints));
+		assertTrue(reflection.onField(PatientRecord.class, "name_").test(hints));
+	}
+
+	@Test
+	void patientCanBeInstantiatedAndPopulated() throws NoSuchMethodException {
+		assertTrue(reflection.onConstructor(Patient.class.getDeclaredConstructor()).invoke().test(hints));
+		assertTrue(reflection.onField(Patient.class, "id").test(hints));
+		assertTrue(reflection.onField(Patient.class, "registeredDate").test(hints));
+	}
+
+	@Test
+	void idGeneratorCanBeInstantiated() throws NoSuchMethodException {
+		assertTrue(reflection.onConstructor(TimeOrderedUuidGenerator.class.getConstructor()).invoke().test(hints));
+	}
+
+	@Test
+	void queryParametersCanBeBound() {
+		assertTrue(reflection.onType(PatientQuery.class).test(hints));
+	}
+}
@@ -0,0 +1,82 @@
+package com.pms.patientservice.config;
+
+import com.pms.patientservice.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTests {
+
+	private static final String PROXY = "10.0.0.1";
+
+	@Test
+	void clientSuppliedHeadersDoNotBuyNewBuckets() {
+		RateLimitInterceptor interceptor = interceptor(2, 10_000, 0);
+
+		assertTrue(admit(interceptor, request("203.0.113.7", "198.51.100.1")));
+		assertTrue(admit(interceptor, request("203.0.113.7", "198.51.100.2")));
+		assertThrows(TooManyRequestsException.class, () -> admit(interceptor, request("203.0.113.7", "198.51.100.3")));
+	}
+
+	@Test
+	void forwardedForIsHonouredFromTrustedProxy() {
+		RateLimitInterceptor interceptor = interceptor(1, 10_000, 0);
+
+		// Forged left-most entries are ignored, the address the proxy saw is used
+		assertTrue(admit(interceptor, request(PROXY, "1.1.1.1, 198.51.100.1")));
+		assertTrue(admit(interceptor, request(PROXY, "2.2.2.2, 198.51.100.2")));
+		assertThrows(TooManyRequestsException.class, () -> admit(interceptor, request(PROXY, "3.3.3.3, 198.51.100.1")));
+	}
+
+	@Test
+	void globalBucketLimitsAllClients() {
+		RateLimitInterceptor interceptor = interceptor(5, 10_000, 2);
+
+		assertTrue(admit(interceptor, request("198.51.100.1", null)));
+		assertTrue(admit(interceptor, request("198.51.100.2", null)));
+		assertThrows(TooManyRequestsException.class, () -> admit(interceptor, request("198.51.100.3", null)));
+	}
+
+	@Test
+	void globalRejectionDoesNotSpendClientToken() throws InterruptedException {
+		// One token per client that never refills; the global bucket refills every 50 ms
+		RateLimitInterceptor interceptor = new RateLimitInterceptor(true, 1, 0.001, 10_000, new String[]{PROXY}, 1, 20);
+
+		assertTrue(admit(interceptor, request("198.51.100.1", null)));
+		assertThrows(TooManyRequestsException.class, () -> admit(interceptor, request("198.51.100.2", null)));
+		Thread.sleep(60);
+		assertTrue(admit(interceptor, request("198.51.100.2", null)));
+	}
+
+	@Test
+	void trackedClientsAreBounded() {
+		RateLimitInterceptor interceptor = interceptor(5, 100, 0);
+
+		for (int i = 0; i < 1_000; i++) {
+			admit(interceptor, request("198.51." + (i / 256) + "." + (i % 256), null));
+		}
+		assertEquals(100, interceptor.trackedClients());
+	}
+
+	private static RateLimitInterceptor interceptor(long capacity, int maxTrackedClients, long globalCapacity) {
+		return new RateLimitInterceptor(true, capacity, 0.001, maxTrackedClients, new String[]{PROXY}, globalCapacity, 0.001);
+	}
+
+	private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patients");
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader(RateLimitInterceptor.FORWARDED_FOR_HEADER, forwardedFor);
+		}
+		return request;
+	}
+
+	private static boolean admit(RateLimitInterceptor interceptor, MockHttpServletRequest request) {
+		return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+	}
+
+}
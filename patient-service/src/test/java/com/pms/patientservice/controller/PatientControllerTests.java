@@ -0,0 +1,60 @@
+package com.pms.patientservice.controller;
+
+import com.pms.patientservice.exception.GlobalExceptionHandler;
+import com.pms.patientservice.grpc.BillingServiceGrpcClient;
+import com.pms.patientservice.importing.PatientImportService;
+import com.pms.patientservice.repository.PatientRepository;
+import com.pms.patientservice.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paging parameters are rejected with 400 the same way on every listing endpoint,
+ * before anything reaches the database.
+ */
+class PatientControllerTests {
+
+	private final PatientRepository patientRepository = mock(PatientRepository.class);
+
+	private final PatientService patientService = new PatientService(
+			patientRepository, mock(BillingServiceGrpcClient.class), mock(TransactionTemplate.class));
+
+	private final MockMvc mockMvc = MockMvcBuilders
+			.standaloneSetup(new PatientController(patientService),
+					new PatientAdvancedController(patientService, mock(PatientImportService.class)))
+			.setControllerAdvice(new GlobalExceptionHandler())
+			.build();
+
+	@Test
+	void invalidDirectionIsBadRequestOnBothListings() throws Exception {
+		mockMvc.perform(get("/api/v1/patients/paginated").param("direction", "sideways"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data").value("Invalid sort direction: sideways"));
+		mockMvc.perform(get("/api/v1/patients/advanced/sorted").param("direction", "sideways"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.data").value("Invalid sort direction: sideways"));
+		verify(patientRepository, never()).findAll(any(Pageable.class));
+	}
+
+	@Test
+	void pageSizeIsBounded() throws Exception {
+		mockMvc.perform(get("/api/v1/patients/paginated").param("size", "0"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/patients/paginated").param("size", String.valueOf(PatientService.MAX_PAGE_SIZE + 1)))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/v1/patients/paginated").param("page", "-1"))
+				.andExpect(status().isBadRequest());
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.pms.patientservice.grpc;
+
+import com.pms.patientservice.dto.PatientResponse;
+import com.pms.patientservice.exception.PatientNotFoundException;
+import com.pms.patientservice.exception.TooManyRequestsException;
+import com.pms.patientservice.service.PatientService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.Test;
+import patient.GetPatientsRequest;
+import patient.GetPatientsResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PatientGrpcServiceTests {
+
+	private final PatientService patientService = mock(PatientService.class);
+
+	private final PatientGrpcService grpcService = new PatientGrpcService(patientService);
+
+	@Test
+	void getPatientsReportsMissingIds() {
+		PatientResponse known = patient(UUID.fromString("00000001-0000-7000-8000-00000000000a"));
+		String unknown = UUID.randomUUID().toString();
+		when(patientService.getPatientsByIds(anyCollection())).thenReturn(List.of(known));
+
+		RecordingObserver<GetPatientsResponse> observer = new RecordingObserver<>();
+		grpcService.getPatients(GetPatientsRequest.newBuilder()
+				.addIds(known.getId().toString().toUpperCase())
+				.addIds(unknown)
+				.addIds("not-a-uuid")
+				// Not the canonical spelling, but UUID.fromString reads it as the same id
+				.addIds("1-0-7000-8000-a")
+				.build(), observer);
+
+		GetPatientsResponse response = observer.values.getFirst();
+		assertTrue(observer.completed);
+		assertEquals(1, response.getPatientsCount());
+		assertEquals(known.getId().toString(), response.getPatients(0).getId());
+		assertEquals("1980-05-17", response.getPatients(0).getDateOfBirth());
+		assertEquals("2024-01-02", response.getPatients(0).getRegisteredDate());
+		assertEquals(List.of(unknown, "not-a-uuid"), response.getMissingIdsList());
+	}
+
+	@Test
+	void apiExceptionsMapToGrpcStatus() {
+		assertEquals(Status.Code.NOT_FOUND,
+				GrpcExceptionAdvice.toStatus(new PatientNotFoundException("missing")).getCode());
+		assertEquals(Status.Code.RESOURCE_EXHAUSTED,
+				GrpcExceptionAdvice.toStatus(new TooManyRequestsException("slow down", 1)).getCode());
+	}
+
+	private static PatientResponse patient(UUID id) {
+		PatientResponse patient = new PatientResponse();
+		patient.setId(id);
+		patient.setName("Jane Doe");
+		patient.setEmail("jane@example.com");
+		patient.setAddress("Main Street 1");
+		patient.setDateOfBirth(LocalDate.of(1980, 5, 17));
+		patient.setRegisteredDate(LocalDate.of(2024, 1, 2));
+		return patient;
+	}
+
+	private static final class RecordingObserver<T> implements StreamObserver<T> {
+
+		private final List<T> values = new ArrayList<>();
+		private boolean completed;
+
+		@Override
+		public void onNext(T value) {
+			values.add(value);
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			throw new AssertionError(t);
+		}
+
+		@Override
+		public void onCompleted() {
+			completed = true;
+		}
+	}
+
+}
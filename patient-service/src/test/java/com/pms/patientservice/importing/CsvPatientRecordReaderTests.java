@@ -0,0 +1,65 @@
+package com.pms.patientservice.importing;
+
+import com.pms.patientservice.dto.PatientCreation;
+import com.pms.patientservice.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvPatientRecordReaderTests {
+
+	@Test
+	void readsColumnsByHeaderNameWithQuotedFields() throws Exception {
+		String csv = """
+				email,patient_name,address,registered_date,date_of_birth
+				ann@example.com,"Smith, Ann","12 ""Oak"" Lane
+				Flat 2",2024-01-02,1980-05-17
+
+				bob@example.com,Bob,1 Main St,2024-01-03,1975-01-01
+				""";
+		CsvPatientRecordReader reader = new CsvPatientRecordReader(new BufferedReader(new StringReader(csv)));
+
+		SourceRecord first = reader.next();
+		PatientCreation ann = first.parser().parse();
+		assertEquals(2, first.lineNumber());
+		assertEquals("Smith, Ann", ann.getName());
+		assertEquals("12 \"Oak\" Lane\nFlat 2", ann.getAddress());
+		assertEquals(LocalDate.of(1980, 5, 17), ann.getDateOfBirth());
+		assertEquals(LocalDate.of(2024, 1, 2), ann.getRegisteredDate());
+
+		SourceRecord second = reader.next();
+		assertEquals(5, second.lineNumber());
+		assertEquals("bob@example.com", second.parser().parse().getEmail());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void overlongRecordFailsAloneAndReadingResumes() throws Exception {
+		String csv = "email,patient_name,address,registered_date,date_of_birth\n"
+				+ "ann@example.com,\"Unterminated" + "x".repeat(CsvPatientRecordReader.MAX_RECORD_LENGTH) + "\n"
+				+ "bob@example.com,Bob,1 Main St,2024-01-03,1975-01-01\n";
+		CsvPatientRecordReader reader = new CsvPatientRecordReader(new BufferedReader(new StringReader(csv)));
+
+		SourceRecord overlong = reader.next();
+		assertEquals(2, overlong.lineNumber());
+		assertThrows(IllegalArgumentException.class, () -> overlong.parser().parse());
+
+		SourceRecord next = reader.next();
+		assertEquals(3, next.lineNumber());
+		assertEquals("Bob", next.parser().parse().getName());
+		assertNull(reader.next());
+	}
+
+	@Test
+	void rejectsHeaderWithoutRequiredColumns() {
+		assertThrows(BadRequestException.class, () -> new CsvPatientRecordReader(
+				new BufferedReader(new StringReader("patient_name,email\nAnn,ann@example.com\n"))));
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.pms.patientservice.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pms.patientservice.PostgresIntegrationTest;
+import com.pms.patientservice.dto.ImportJobResponse;
+import com.pms.patientservice.exception.ImportJobNotFoundException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@PostgresIntegrationTest
+@TestPropertySource(properties = "patient.import.chunk-size=2")
+class PatientImportServiceTests {
+
+	@Autowired
+	private PatientImportService patientImportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void stagesValidRowsAndMergesWithoutDuplicateEmails() throws Exception {
+		jdbcTemplate.update("""
+				INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+				VALUES (gen_random_uuid(), 'Existing', 'existing@example.com', 'Street', '1970-01-01', '2020-01-01', now(), now())
+				""");
+		String ndjson = """
+				{"patient_name":"Ann","email":"ann@example.com","address":"1 Oak","date_of_birth":"1980-05-17","registered_date":"2024-01-02"}
+				{"patient_name":"Ann Again","email":"ann@example.com","address":"2 Oak","date_of_birth":"1980-05-17","registered_date":"2024-01-02"}
+				{"patient_name":"Old","email":"existing@example.com","address":"3 Oak","date_of_birth":"1960-01-01","registered_date":"2024-01-02"}
+				{"patient_name":"B","email":"not-an-email","address":"4 Oak","date_of_birth":"1990-01-01","registered_date":"2024-01-02"}
+				{"patient_name":"Cara","email":"cara@example.com","address":"5 Oak","date_of_birth":"1991-02-03","registered_date":"2024-01-04"}
+				""";
+
+		ImportJobResponse job = patientImportService.startImport(
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "ndjson");
+		ImportJobResponse result = awaitFinished(job.getJobId().toString());
+
+		assertEquals("COMPLETED", result.getStatus(), result.getError());
+		assertEquals(5, result.getRowsRead());
+		assertEquals(4, result.getRowsValid());
+		assertEquals(1, result.getRowsRejected());
+		assertEquals(2, result.getRowsInserted());
+		assertEquals(2, result.getDuplicates());
+		assertEquals("1 Oak", jdbcTemplate.queryForObject(
+				"SELECT address FROM patients WHERE email = 'ann@example.com'", String.class));
+		assertEquals(2, jdbcTemplate.queryForObject("SELECT count(*) FROM billing_account_queue", Integer.class));
+	}
+
+	@Test
+	void rejectsOverlongAndNulValuesRowByRow() throws Exception {
+		String csv = "patient_name,email,address,date_of_birth,registered_date\n"
+				+ "Dana,dana@example.com,1 Elm,1985-03-04,2024-02-01\n"
+				+ "N".repeat(256) + ",long@example.com,2 Elm,1985-03-04,2024-02-01\n"
+				+ "Nul,nul@example.com,3 \0 Elm,1985-03-04,2024-02-01\n"
+				+ "Eve,eve@example.com,4 Elm,1986-04-05,2024-02-02\n";
+
+		ImportJobResponse job = patientImportService.startImport(
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "csv");
+		ImportJobResponse result = awaitFinished(job.getJobId().toString());
+
+		assertEquals("COMPLETED", result.getStatus(), result.getError());
+		assertEquals(4, result.getRowsRead());
+		assertEquals(2, result.getRowsRejected());
+		assertEquals(2, result.getRowsInserted());
+		assertEquals(List.of("line 3: Name must be between 2 and 255 characters",
+				"line 4: Address must not contain NUL characters"), result.getRejections());
+		assertEquals(2, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM patients WHERE email IN ('dana@example.com', 'eve@example.com')", Integer.class));
+	}
+
+	@Test
+	void failedUploadLeavesNoSpoolFile() throws Exception {
+		Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+		Set<Path> before = spoolFiles(tempDir);
+		InputStream brokenUpload = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("connection reset");
+			}
+		};
+
+		assertThrows(IOException.class, () -> patientImportService.startImport(brokenUpload, "csv"));
+		assertEquals(before, spoolFiles(tempDir));
+	}
+
+	@Test
+	void finishedJobsAreEvictedAfterRetention() throws Exception {
+		PatientImportService service = new PatientImportService(dataSource, validator, objectMapper, 2, 1, Duration.ZERO);
+		try {
+			String jobId = service.startImport(new ByteArrayInputStream(new byte[0]), "ndjson").getJobId().toString();
+			for (int attempt = 0; attempt < 100 && !service.getImport(jobId).getStatus().equals("COMPLETED"); attempt++) {
+				Thread.sleep(100);
+			}
+			assertEquals("COMPLETED", service.getImport(jobId).getStatus());
+
+			service.evictFinishedJobs();
+			assertThrows(ImportJobNotFoundException.class, () -> service.getImport(jobId));
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	private static Set<Path> spoolFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().startsWith("patient-import-"))
+					.collect(Collectors.toSet());
+		}
+	}
+
+	private ImportJobResponse awaitFinished(String jobId) throws InterruptedException {
+		for (int attempt = 0; attempt < 100; attempt++) {
+			ImportJobResponse job = patientImportService.getImport(jobId);
+			if (job.getStatus().equals("COMPLETED") || job.getStatus().equals("FAILED")) {
+				return job;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("import " + jobId + " did not finish");
+	}
+
+}
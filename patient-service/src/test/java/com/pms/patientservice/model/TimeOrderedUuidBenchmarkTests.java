@@ -0,0 +1,105 @@
+package com.pms.patientservice.model;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares random (v4) and time-ordered (v7) primary keys on a patients-shaped table:
+ * insert throughput plus primary-key and email index size. Run with
+ * {@code mvn test -Dtest=TimeOrderedUuidBenchmarkTests -Dbenchmark=true -Dbenchmark.rows=10000000}
+ * (needs Docker; defaults to 1M rows).
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TimeOrderedUuidBenchmarkTests {
+
+	private static final int JDBC_BATCH_SIZE = 1_000;
+
+	@Container
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15")
+			.withUrlParam("reWriteBatchedInserts", "true")
+			.withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "max_wal_size=4GB");
+
+	@Test
+	void timeOrderedKeysInsertFasterIntoSmallerIndexes() throws SQLException {
+		long rows = Long.getLong("benchmark.rows", 1_000_000L);
+
+		Result random = run("patients_random_id", rows, UUID::randomUUID);
+		Result timeOrdered = run("patients_time_ordered_id", rows, TimeOrderedUuidGenerator::next);
+
+		log.info("v4 random ids: {}", random);
+		log.info("v7 time-ordered ids: {}", timeOrdered);
+		assertTrue(timeOrdered.primaryKeyBytes() < random.primaryKeyBytes(),
+				"time-ordered primary key index should be denser");
+	}
+
+	private Result run(String table, long rows, Supplier<UUID> ids) throws SQLException {
+		try (Connection connection = postgres.createConnection("")) {
+			try (Statement ddl = connection.createStatement()) {
+				ddl.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+						+ "email VARCHAR(255) NOT NULL UNIQUE, created_at TIMESTAMP(6) NOT NULL DEFAULT now())");
+				ddl.execute("CHECKPOINT");
+			}
+			long walBefore = walPosition(connection);
+
+			connection.setAutoCommit(false);
+			long start = System.nanoTime();
+			try (PreparedStatement insert = connection.prepareStatement(
+					"INSERT INTO " + table + " (id, name, email) VALUES (?, ?, ?)")) {
+				for (long i = 0; i < rows; i++) {
+					insert.setObject(1, ids.get());
+					insert.setString(2, "Patient " + i);
+					insert.setString(3, "patient" + i + "@bench.example");
+					insert.addBatch();
+					if ((i + 1) % JDBC_BATCH_SIZE == 0) {
+						insert.executeBatch();
+						connection.commit();
+					}
+				}
+				insert.executeBatch();
+				connection.commit();
+			}
+			double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+			connection.setAutoCommit(true);
+
+			try (Statement stats = connection.createStatement();
+				 ResultSet rs = stats.executeQuery("SELECT pg_relation_size('" + table + "_pkey'), "
+						 + "pg_relation_size('" + table + "_email_key'), "
+						 + "pg_wal_lsn_diff(pg_current_wal_lsn(), '" + lsn(walBefore) + "')")) {
+				rs.next();
+				return new Result(Math.round(rows / seconds), rs.getLong(1), rs.getLong(2), rs.getLong(3));
+			}
+		}
+	}
+
+	private static long walPosition(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	private static String lsn(long position) {
+		return Long.toHexString(position >>> 32).toUpperCase() + "/" + Long.toHexString(position & 0xFFFFFFFFL).toUpperCase();
+	}
+
+	private record Result(long rowsPerSecond, long primaryKeyBytes, long emailIndexBytes, long walBytes) {
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.pms.patientservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTests {
+
+	@Test
+	void generatesVersion7Ids() {
+		long before = System.currentTimeMillis();
+		UUID id = TimeOrderedUuidGenerator.next();
+
+		assertEquals(7, id.version());
+		assertEquals(2, id.variant());
+		assertTrue((id.getMostSignificantBits() >>> 16) >= before);
+		assertEquals(id, UUID.fromString(id.toString()));
+	}
+
+	@Test
+	void idsSortInCreationOrder() {
+		String previous = TimeOrderedUuidGenerator.next().toString();
+		for (int i = 0; i < 100_000; i++) {
+			String next = TimeOrderedUuidGenerator.next().toString();
+			// Postgres compares uuids bytewise, which matches comparing the hex strings
+			assertTrue(next.compareTo(previous) > 0, next + " <= " + previous);
+			previous = next;
+		}
+	}
+
+}
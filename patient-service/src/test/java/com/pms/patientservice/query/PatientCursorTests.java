@@ -0,0 +1,49 @@
+package com.pms.patientservice.query;
+
+import com.pms.patientservice.exception.InvalidCursorException;
+import com.pms.patientservice.exception.UnsupportedSortFieldException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PatientCursorTests {
+
+	@Test
+	void roundTripsThroughEncoding() {
+		UUID id = UUID.randomUUID();
+		PatientCursor cursor = new PatientCursor(PatientSortField.DATE_OF_BIRTH, Sort.Direction.DESC, id, LocalDate.of(1990, 5, 17));
+
+		PatientCursor decoded = PatientCursor.decode(cursor.encode(), PatientSortField.DATE_OF_BIRTH, Sort.Direction.DESC);
+
+		assertEquals(cursor, decoded);
+	}
+
+	@Test
+	void keepsSeparatorsInsideNames() {
+		PatientCursor cursor = new PatientCursor(PatientSortField.NAME, Sort.Direction.ASC, UUID.randomUUID(), "Smith | Jones");
+
+		assertEquals(cursor, PatientCursor.decode(cursor.encode(), PatientSortField.NAME, Sort.Direction.ASC));
+	}
+
+	@Test
+	void rejectsCursorFromAnotherOrdering() {
+		String encoded = new PatientCursor(PatientSortField.NAME, Sort.Direction.ASC, UUID.randomUUID(), "Ann").encode();
+
+		assertThrows(InvalidCursorException.class,
+				() -> PatientCursor.decode(encoded, PatientSortField.NAME, Sort.Direction.DESC));
+		assertThrows(InvalidCursorException.class,
+				() -> PatientCursor.decode("not-a-cursor", PatientSortField.NAME, Sort.Direction.ASC));
+	}
+
+	@Test
+	void rejectsUnindexedSortFields() {
+		assertEquals(PatientSortField.CREATED_AT, PatientSortField.fromProperty("createdAt"));
+		assertThrows(UnsupportedSortFieldException.class, () -> PatientSortField.fromProperty("address"));
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.pms.patientservice.query;
+
+import com.pms.patientservice.PostgresIntegrationTest;
+import com.pms.patientservice.dto.CursorPage;
+import com.pms.patientservice.dto.PatientQuery;
+import com.pms.patientservice.dto.PatientResponse;
+import com.pms.patientservice.service.PatientPartitionMaintenance;
+import com.pms.patientservice.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the composable patient query against a seeded Postgres with auto_explain
+ * enabled and checks the plans Postgres actually executed: with real bound
+ * parameters and prepared statements, none of them may scan a populated patients
+ * partition sequentially, and the name prefix and email domain filters must be
+ * answered by index-only scans. auto_explain reports each plan to the client as a notice,
+ * which Hibernate logs as a JDBC warning.
+ */
+@PostgresIntegrationTest
+@TestPropertySource(properties = {
+		"spring.datasource.hikari.data-source-properties.options="
+				+ "-c session_preload_libraries=auto_explain -c auto_explain.log_min_duration=0 -c auto_explain.log_level=notice",
+		"spring.jpa.properties.hibernate.jdbc.log.warnings=true"
+})
+@ExtendWith(OutputCaptureExtension.class)
+class PatientQueryPlanTests {
+
+	private static final int SEED_ROWS = 50_000;
+
+	private static boolean seeded;
+
+	private static List<String> populatedPartitions;
+
+	@Autowired
+	private PatientService patientService;
+
+	@Autowired
+	private PatientPartitionMaintenance partitionMaintenance;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		jdbcTemplate.update("""
+				INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+				SELECT gen_random_uuid(),
+				       md5(g::text),
+				       'patient' || g || '@clinic' || (g % 500) || '.example',
+				       'Main Street ' || g,
+				       date '1940-01-01' + (g % 25000),
+				       date '2015-01-01' + (g % 3650),
+				       now() - g * interval '1 minute',
+				       now()
+				FROM generate_series(1, ?) g
+				""", SEED_ROWS);
+		// Seeded years have no partitions yet; move their rows out of patients_default
+		partitionMaintenance.maintain();
+		// Sets the visibility map, which index-only scans depend on
+		jdbcTemplate.execute("VACUUM ANALYZE patients");
+		populatedPartitions = jdbcTemplate.queryForList(
+				"SELECT DISTINCT tableoid::regclass::text FROM patients", String.class);
+		seeded = true;
+	}
+
+	@Test
+	void namePrefixIsCovered(CapturedOutput output) {
+		PatientQuery query = new PatientQuery();
+		query.setNamePrefix("AB");
+		assertCovered(output, () -> patientService.queryPatients(query));
+	}
+
+	@Test
+	void dateOfBirthRangeUsesIndex(CapturedOutput output) {
+		PatientQuery query = new PatientQuery();
+		query.setDobFrom(LocalDate.of(1970, 1, 1));
+		query.setDobTo(LocalDate.of(1970, 3, 31));
+		query.setSortBy("dateOfBirth");
+		assertNoSeqScan(output, () -> patientService.queryPatients(query));
+	}
+
+	@Test
+	void emailDomainWithCursorIsCovered(CapturedOutput output) {
+		PatientQuery query = new PatientQuery();
+		query.setEmailDomain("Clinic42.example");
+		query.setSortBy("createdAt");
+		query.setDirection("DESC");
+		query.setLimit(10);
+		CursorPage<PatientResponse> first = patientService.queryPatients(query);
+		assertTrue(first.isHasNext());
+
+		query.setCursor(first.getNextCursor());
+		assertCovered(output, () -> patientService.queryPatients(query));
+	}
+
+	@Test
+	void combinedFiltersUseIndex(CapturedOutput output) {
+		PatientQuery query = new PatientQuery();
+		query.setNamePrefix("a");
+		query.setDobFrom(LocalDate.of(1950, 1, 1));
+		query.setDobTo(LocalDate.of(1990, 12, 31));
+		query.setRegisteredFrom(LocalDate.of(2018, 1, 1));
+		query.setRegisteredTo(LocalDate.of(2020, 12, 31));
+		query.setEmailDomain("clinic7.example");
+		query.setSortBy("registeredDate");
+		assertNoSeqScan(output, () -> patientService.queryPatients(query));
+	}
+
+	@Test
+	void sortedBrowsingUsesIndex(CapturedOutput output) {
+		assertNoSeqScan(output, () -> patientService.getAllPatientsSorted("createdAt", "DESC", 20, null));
+	}
+
+	// Filters that cannot follow the sort order are answered from their covering index (V5)
+	private void assertCovered(CapturedOutput output, Supplier<CursorPage<PatientResponse>> action) {
+		String plans = assertNoSeqScan(output, action);
+		assertTrue(plans.contains("Index Only Scan"), () -> "expected an index-only scan:\n" + plans);
+	}
+
+	private String assertNoSeqScan(CapturedOutput output, Supplier<CursorPage<PatientResponse>> action) {
+		String plans = executedPlans(output, action);
+
+		assertTrue(plans.contains("from patients"), "expected auto_explain output for the patient query");
+		for (String partition : populatedPartitions) {
+			assertFalse(plans.contains("Seq Scan on " + partition + " "), () -> "sequential scan in plan:\n" + plans);
+		}
+		return plans;
+	}
+
+	private String executedPlans(CapturedOutput output, Supplier<CursorPage<PatientResponse>> action) {
+		int offset = output.getOut().length();
+		action.get();
+		return output.getOut().substring(offset);
+	}
+
+}
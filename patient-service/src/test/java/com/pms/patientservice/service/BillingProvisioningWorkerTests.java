@@ -0,0 +1,89 @@
+package com.pms.patientservice.service;
+
+import com.pms.patientservice.PostgresIntegrationTest;
+import com.pms.patientservice.grpc.BillingServiceGrpcClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the worker under the prod profile, where pooled connections do not auto-commit,
+ * with one billing call failing.
+ */
+@PostgresIntegrationTest
+@ActiveProfiles("prod")
+class BillingProvisioningWorkerTests {
+
+	@Value("${patient.billing-queue.max-attempts}")
+	private int maxAttempts;
+
+	@Autowired
+	private BillingServiceGrpcClient billingServiceGrpcClient;
+
+	@Autowired
+	private BillingProvisioningWorker worker;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void failedAccountIsRetriedWithoutRepeatingTheOthers() {
+		String ok1 = enqueue("ok1@example.com");
+		String failing = enqueue("failing@example.com");
+		String ok2 = enqueue("ok2@example.com");
+		when(billingServiceGrpcClient.createBillingAccount(eq(failing), anyString(), anyString()))
+				.thenThrow(new RuntimeException("billing unavailable"));
+
+		worker.drain();
+
+		List<String> queued = jdbcTemplate.queryForList(
+				"SELECT patient_id::text FROM billing_account_queue", String.class);
+		assertEquals(List.of(failing), queued);
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT attempts FROM billing_account_queue WHERE patient_id = ?::uuid", Integer.class, failing));
+		assertNotNull(jdbcTemplate.queryForObject(
+				"SELECT last_error FROM billing_account_queue WHERE patient_id = ?::uuid", String.class, failing));
+
+		// Not due yet: a second poll must not call billing again for anyone
+		worker.drain();
+		verify(billingServiceGrpcClient, times(1)).createBillingAccount(eq(ok1), anyString(), anyString());
+		verify(billingServiceGrpcClient, times(1)).createBillingAccount(eq(ok2), anyString(), anyString());
+		verify(billingServiceGrpcClient, times(1)).createBillingAccount(eq(failing), anyString(), anyString());
+
+		// Every remaining attempt fails too: the row is parked
+		for (int attempt = 2; attempt <= maxAttempts; attempt++) {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+					"UPDATE billing_account_queue SET available_at = now() WHERE patient_id = ?::uuid", failing));
+			worker.drain();
+		}
+		verify(billingServiceGrpcClient, times(maxAttempts)).createBillingAccount(eq(failing), anyString(), anyString());
+		assertEquals("infinity", jdbcTemplate.queryForObject(
+				"SELECT available_at::text FROM billing_account_queue WHERE patient_id = ?::uuid", String.class, failing));
+	}
+
+	private String enqueue(String email) {
+		String patientId = UUID.randomUUID().toString();
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+				"INSERT INTO billing_account_queue (patient_id, name, email) VALUES (?::uuid, 'Queued Patient', ?)",
+				patientId, email));
+		return patientId;
+	}
+
+}
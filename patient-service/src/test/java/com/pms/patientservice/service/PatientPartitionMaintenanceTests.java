@@ -0,0 +1,51 @@
+package com.pms.patientservice.service;
+
+import com.pms.patientservice.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs partition maintenance under the prod profile, where pooled connections do not
+ * auto-commit, and checks its work is committed.
+ */
+@PostgresIntegrationTest
+@ActiveProfiles("prod")
+class PatientPartitionMaintenanceTests {
+
+	@Autowired
+	private PatientPartitionMaintenance partitionMaintenance;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void partitionsAndMovedRowsAreCommitted() {
+		UUID id = UUID.randomUUID();
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+				INSERT INTO patients (id, name, email, address, date_of_birth, registered_date, created_at, updated_at)
+				VALUES (?, 'Historic Patient', 'historic@example.com', 'Main Street 1', date '1960-01-01',
+				        date '1998-03-01', now(), now())
+				""", id));
+
+		partitionMaintenance.maintain();
+
+		assertEquals("patients_y1998", jdbcTemplate.queryForObject(
+				"SELECT tableoid::regclass::text FROM patients WHERE id = ?", String.class, id));
+		int nextYear = Year.now().getValue() + 1;
+		assertNotNull(jdbcTemplate.queryForObject(
+				"SELECT to_regclass(?)::text", String.class, "patients_y" + nextYear));
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.pms.patientservice.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescerTests {
+
+	@Test
+	void concurrentLoadsOfSameKeyShareOneCall() throws Exception {
+		CountDownLatch followersJoined = new CountDownLatch(7);
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>() {
+			@Override
+			void joined(String key) {
+				followersJoined.countDown();
+			}
+		};
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<String> leader = executor.submit(() -> coalescer.load("p1", key -> {
+				loads.incrementAndGet();
+				loaderStarted.countDown();
+				await(release);
+				return "patient-" + key;
+			}));
+			assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+			List<Future<String>> followers = new ArrayList<>();
+			for (int i = 0; i < 7; i++) {
+				followers.add(executor.submit(() -> coalescer.load("p1", key -> {
+					loads.incrementAndGet();
+					return "unexpected";
+				})));
+			}
+			// Every follower holds the in-flight load before it completes
+			assertTrue(followersJoined.await(5, TimeUnit.SECONDS));
+			release.countDown();
+
+			assertEquals("patient-p1", leader.get(5, TimeUnit.SECONDS));
+			for (Future<String> follower : followers) {
+				assertEquals("patient-p1", follower.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedLoadIsNotRemembered() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		assertThrows(IllegalStateException.class, () -> coalescer.load("p1", key -> {
+			throw new IllegalStateException("db down");
+		}));
+		assertEquals("ok", coalescer.load("p1", key -> "ok"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.pms.patientservice.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+	@Test
+	void admitsBurstThenRejects() {
+		TokenBucket bucket = new TokenBucket(3, 0.001);
+
+		assertTrue(bucket.tryConsume());
+		assertTrue(bucket.tryConsume());
+		assertTrue(bucket.tryConsume());
+		assertFalse(bucket.tryConsume());
+	}
+
+	@Test
+	void refundReturnsTokenUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(1, 0.001);
+
+		assertTrue(bucket.tryConsume());
+		bucket.refund();
+		bucket.refund();
+		assertTrue(bucket.tryConsume());
+		assertFalse(bucket.tryConsume());
+	}
+
+	@Test
+	void refillsOverTime() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1, 50);
+
+		assertTrue(bucket.tryConsume());
+		assertFalse(bucket.tryConsume());
+		assertEquals(1, bucket.secondsUntilNextToken());
+		Thread.sleep(50);
+		assertTrue(bucket.tryConsume());
+	}
+
+}